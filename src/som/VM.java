@@ -31,6 +31,7 @@ import som.interpreter.actors.Actor;
 import som.interpreter.actors.SFarReference;
 import som.interpreter.actors.SPromise;
 import som.interpreter.actors.SPromise.SResolver;
+import som.interpreter.objectstorage.LayoutStatistics;
 import som.vm.ObjectSystem;
 import som.vmobjects.SInvokable;
 import som.vmobjects.SObjectWithClass.SObjectWithoutFields;
@@ -40,6 +41,7 @@ import tools.dym.DynamicMetrics;
 import tools.dym.profiles.StructuralProbe;
 import tools.highlight.Highlight;
 import tools.highlight.Tags;
+import tools.startup.StartupProfiler;
 
 
 public final class VM {
@@ -96,11 +98,14 @@ public final class VM {
     return structuralProbes;
   }
 
-  public static void reportNewMixin(final MixinDefinition m) {
+  // The report methods are synchronized, because modules might be parsed in
+  // parallel, see VmSettings.PARALLEL_MODULE_LOADING
+
+  public static synchronized void reportNewMixin(final MixinDefinition m) {
     structuralProbes.recordNewClass(m);
   }
 
-  public static void reportNewMethod(final SInvokable m) {
+  public static synchronized void reportNewMethod(final SInvokable m) {
     structuralProbes.recordNewMethod(m);
   }
 
@@ -110,9 +115,19 @@ public final class VM {
     // TODO: fix hack, we need this early, and we want tool/polyglot engine support for the events...
     structuralProbes = new StructuralProbe();
 
+    if (VmSettings.LAYOUT_STATISTICS) {
+      LayoutStatistics.registerReportAtExit();
+    }
+    if (VmSettings.STARTUP_PROFILE) {
+      StartupProfiler.registerReportAtExit();
+    }
+
     this.avoidExitForTesting = avoidExitForTesting;
     options = new VMOptions(args);
-    objectSystem = new ObjectSystem(options.platformFile, options.kernelFile);
+
+    StartupProfiler.enterPhase("parse platform and kernel");
+    objectSystem = new ObjectSystem(options.platformFile, options.kernelFile,
+        options.args == null ? null : options.args[0]);
 
     if (options.showUsage) {
       VMOptions.printUsageAndExit();
@@ -123,18 +138,18 @@ public final class VM {
     this(args, false);
   }
 
-  public static void reportSyntaxElement(final Class<? extends Tags> type,
+  public static synchronized void reportSyntaxElement(final Class<? extends Tags> type,
       final SourceSection source) {
     Highlight.reportNonAstSyntax(type, source);
     WebDebugger.reportSyntaxElement(type, source);
   }
 
-  public static void reportParsedRootNode(final RootNode rootNode) {
+  public static synchronized void reportParsedRootNode(final RootNode rootNode) {
     Highlight.reportParsedRootNode(rootNode);
     WebDebugger.reportRootNodeAfterParsing(rootNode);
   }
 
-  public static void reportLoadedSource(final Source source) {
+  public static synchronized void reportLoadedSource(final Source source) {
     WebDebugger.reportLoadedSource(source);
   }
 
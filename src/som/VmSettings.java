@@ -9,6 +9,29 @@ public class VmSettings {
   public static final boolean ACTOR_TRACING;
   public static final boolean INSTRUMENTATION;
   public static final boolean DYNAMIC_METRICS;
+  public static final boolean LAYOUT_STATISTICS;
+  public static final boolean STARTUP_PROFILE;
+  public static final boolean PARALLEL_MODULE_LOADING;
+
+  /**
+   * Parse method bodies only on the first invocation of a method. Syntax
+   * errors in a method body are then only reported when it is invoked.
+   * Not used with instrumentation, because the tools need all ASTs.
+   */
+  public static final boolean LAZY_METHOD_COMPILATION;
+
+  /**
+   * Number of layout changes, beyond the first initialization of each slot,
+   * after which the layout of a class is pinned to store all slots as
+   * objects. A value of 0, or a negative value, disables pinning.
+   */
+  public static final int LAYOUT_CHANGE_LIMIT;
+
+  /**
+   * Directory in which the tokens of parsed modules are cached, or null if
+   * they are not cached.
+   */
+  public static final String TOKEN_CACHE;
 
   public static final String INSTRUMENTATION_PROP = "som.instrumentation";
 
@@ -23,10 +46,17 @@ public class VmSettings {
     FAIL_ON_MISSING_OPTIMIZATIONS = getBool("som.failOnMissingOptimization", false);
     DEBUG_MODE      = getBool("som.debugMode",      false);
     ACTOR_TRACING   = getBool("som.actorTracing",   false);
+    LAYOUT_STATISTICS = getBool("som.layoutStatistics", false);
+    STARTUP_PROFILE   = getBool("som.startupProfile",   false);
+    PARALLEL_MODULE_LOADING = getBool("som.parallelModuleLoading", false);
+    LAYOUT_CHANGE_LIMIT = Integer.valueOf(System.getProperty("som.layoutChangeLimit", "8"));
+    TOKEN_CACHE = System.getProperty("som.tokenCache");
 
     boolean dm = getBool("som.dynamicMetrics", false);
     DYNAMIC_METRICS = dm;
     INSTRUMENTATION = dm || getBool(INSTRUMENTATION_PROP, false);
+
+    LAZY_METHOD_COMPILATION = !INSTRUMENTATION && getBool("som.lazyMethodCompilation", false);
   }
 
   private static boolean getBool(final String prop, final boolean defaultVal) {
@@ -0,0 +1,146 @@
+package som.compiler;
+
+import com.oracle.truffle.api.source.SourceSection;
+
+import som.interpreter.nodes.ExpressionNode;
+import som.interpreter.nodes.literals.BooleanLiteralNode.FalseLiteralNode;
+import som.interpreter.nodes.literals.BooleanLiteralNode.TrueLiteralNode;
+import som.interpreter.nodes.literals.DoubleLiteralNode;
+import som.interpreter.nodes.literals.IntegerLiteralNode;
+import som.interpreter.nodes.literals.LiteralNode;
+import som.interpreter.nodes.literals.NilLiteralNode;
+import som.interpreter.nodes.literals.StringLiteralNode;
+import som.vmobjects.SSymbol;
+
+
+/**
+ * Evaluates sends of pure primitive operations on literals while parsing,
+ * and removes the branches of inlined conditionals with a literal condition.
+ *
+ * <p>The kernel classes of literals can not be changed by a program, so the
+ * result is the same as at run time. Operations that would overflow, or
+ * that raise an error, are left to be executed at run time.
+ */
+final class ConstantFolding {
+
+  private ConstantFolding() { }
+
+  /** @return the folded literal, or null if the send can not be folded */
+  static LiteralNode foldBinaryMessage(final SSymbol selector,
+      final ExpressionNode receiver, final ExpressionNode argument,
+      final SourceSection source) {
+    if (!isFoldable(receiver) || !isFoldable(argument)) {
+      return null;
+    }
+
+    Object rcvr = value(receiver);
+    Object arg  = value(argument);
+    String op   = selector.getString();
+
+    if (rcvr instanceof Long && arg instanceof Long) {
+      return foldLong(op, (long) rcvr, (long) arg, source);
+    } else if (rcvr instanceof Double && arg instanceof Double) {
+      return foldDouble(op, (double) rcvr, (double) arg, source);
+    } else if (rcvr instanceof String && arg instanceof String) {
+      return foldString(op, (String) rcvr, (String) arg, source);
+    }
+    return null;
+  }
+
+  /**
+   * Fold an inlined <code>ifTrue:</code> or <code>ifFalse:</code>.
+   *
+   * @return the body, or nil, if the condition is a literal, null otherwise
+   */
+  static ExpressionNode foldIf(final ExpressionNode condition,
+      final boolean expectedBool, final ExpressionNode inlinedBody,
+      final SourceSection source) {
+    if (!isBooleanLiteral(condition)) {
+      return null;
+    }
+
+    if ((condition instanceof TrueLiteralNode) == expectedBool) {
+      return inlinedBody;
+    }
+    return new NilLiteralNode(source);
+  }
+
+  /**
+   * Fold an inlined <code>ifTrue:ifFalse:</code>.
+   *
+   * @return the taken branch if the condition is a literal, null otherwise
+   */
+  static ExpressionNode foldIfTrueIfFalse(final ExpressionNode condition,
+      final ExpressionNode inlinedTrueNode, final ExpressionNode inlinedFalseNode) {
+    if (!isBooleanLiteral(condition)) {
+      return null;
+    }
+    return condition instanceof TrueLiteralNode ? inlinedTrueNode : inlinedFalseNode;
+  }
+
+  private static boolean isBooleanLiteral(final ExpressionNode node) {
+    return node instanceof TrueLiteralNode || node instanceof FalseLiteralNode;
+  }
+
+  private static boolean isFoldable(final ExpressionNode node) {
+    return node instanceof IntegerLiteralNode || node instanceof DoubleLiteralNode
+        || node instanceof StringLiteralNode;
+  }
+
+  private static Object value(final ExpressionNode literal) {
+    // literals do not access the frame
+    return literal.executeGeneric(null);
+  }
+
+  private static LiteralNode foldLong(final String op, final long left,
+      final long right, final SourceSection source) {
+    try {
+      switch (op) {
+        case "+":  return new IntegerLiteralNode(Math.addExact(left, right), source);
+        case "-":  return new IntegerLiteralNode(Math.subtractExact(left, right), source);
+        case "*":  return new IntegerLiteralNode(Math.multiplyExact(left, right), source);
+        case "<":  return bool(left <  right, source);
+        case "<=": return bool(left <= right, source);
+        case ">":  return bool(left >  right, source);
+        case ">=": return bool(left >= right, source);
+        case "=":  return bool(left == right, source);
+        case "<>": return bool(left != right, source);
+        default:   return null;
+      }
+    } catch (ArithmeticException e) {
+      // the result is a large integer, which has no literal node
+      return null;
+    }
+  }
+
+  private static LiteralNode foldDouble(final String op, final double left,
+      final double right, final SourceSection source) {
+    switch (op) {
+      case "+":  return new DoubleLiteralNode(left + right, source);
+      case "-":  return new DoubleLiteralNode(left - right, source);
+      case "*":  return new DoubleLiteralNode(left * right, source);
+      case "<":  return bool(left <  right, source);
+      case "<=": return bool(left <= right, source);
+      case ">":  return bool(left >  right, source);
+      case ">=": return bool(left >= right, source);
+      case "=":  return bool(left == right, source);
+      case "<>": return bool(left != right, source);
+      default:   return null;
+    }
+  }
+
+  private static LiteralNode foldString(final String op, final String left,
+      final String right, final SourceSection source) {
+    if ("=".equals(op)) {
+      return bool(left.equals(right), source);
+    }
+    return null;
+  }
+
+  private static LiteralNode bool(final boolean value, final SourceSection source) {
+    if (value) {
+      return new TrueLiteralNode(source);
+    }
+    return new FalseLiteralNode(source);
+  }
+}
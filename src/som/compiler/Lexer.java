@@ -24,11 +24,13 @@
 
 package som.compiler;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.Reader;
-import java.lang.reflect.Field;
+import java.util.Arrays;
 
+/**
+ * The lexer works directly on the characters of the whole file. Tokens are
+ * represented as start and end offsets into the file content, and their
+ * text is only materialized when it is requested.
+ */
 public final class Lexer {
 
   public static class Peek {
@@ -40,91 +42,310 @@ public final class Lexer {
     public final String nextText;
   }
 
-  private static class LexerState {
-    LexerState() { }
-    LexerState(final LexerState old) {
+  private static final String[] ASCII_STRINGS = new String[128];
+
+  static {
+    for (char c = 0; c < ASCII_STRINGS.length; c++) {
+      ASCII_STRINGS[c] = String.valueOf(c);
+    }
+  }
+
+  private static final class LexerState {
+    private int lineNumber;
+    private int lineStart; // index of the first character of the current line
+    private int ptr;
+    private int lastNonWhiteCharIdx;
+
+    private Symbol sym;
+
+    // the text of the current symbol, is content[textStart, textEnd), unless
+    // text was set explicitly
+    private int    textStart;
+    private int    textEnd;
+    private String text;
+
+    // start of the current symbol, the coordinate is created lazily
+    private int startLine;
+    private int startColumn;
+    private int startCharIdx;
+    private int startLastNonWhiteCharIdx;
+    private SourceCoordinate startCoord;
+
+    void copyFrom(final LexerState old) {
       lineNumber = old.lineNumber;
-      charsRead  = old.charsRead;
+      lineStart  = old.lineStart;
+      ptr        = old.ptr;
       lastNonWhiteCharIdx = old.lastNonWhiteCharIdx;
-      buf        = old.buf;
-      bufPointer = old.bufPointer;
       sym        = old.sym;
-      symc       = old.symc;
-      text       = new StringBuffer(old.text);
-      startCoord = old.startCoord;
+      textStart  = old.textStart;
+      textEnd    = old.textEnd;
+      text       = old.text;
+      startLine    = old.startLine;
+      startColumn  = old.startColumn;
+      startCharIdx = old.startCharIdx;
+      startLastNonWhiteCharIdx = old.startLastNonWhiteCharIdx;
+      startCoord   = old.startCoord;
     }
 
-    public void set(final Symbol sym, final char symChar, final String text) {
+    void set(final Symbol sym, final String text) {
       this.sym  = sym;
-      this.symc = symChar;
-      this.text = new StringBuffer(text);
+      this.text = text;
     }
 
-    public void set(final Symbol sym) {
-      this.sym = sym;
-      this.symc = 0;
-      this.text = new StringBuffer();
+    void set(final Symbol sym) {
+      this.sym  = sym;
+      this.text = null;
+      textStart = ptr;
+      textEnd   = ptr;
     }
 
-    private int                 lineNumber;
-    private int                 charsRead; // all characters read, excluding the current line
-    private int                 lastNonWhiteCharIdx;
-
-    private String              buf;
-    private int                 bufPointer;
-
-    private Symbol              sym;
-    private char                symc;
-    private StringBuffer        text;
-
-    private SourceCoordinate    startCoord;
+    void markStart() {
+      startLine    = lineNumber;
+      startColumn  = ptr - lineStart + 1;
+      startCharIdx = ptr;
+      startLastNonWhiteCharIdx = lastNonWhiteCharIdx;
+      startCoord   = null;
+    }
 
     int incPtr() {
-      int cur = bufPointer;
-      bufPointer += 1;
-      lastNonWhiteCharIdx = charsRead + bufPointer;
+      int cur = ptr;
+      ptr += 1;
+      lastNonWhiteCharIdx = ptr;
       return cur;
     }
 
     int incPtr(final int val) {
-      int cur = bufPointer;
-      bufPointer += val;
-      lastNonWhiteCharIdx = charsRead + bufPointer;
+      int cur = ptr;
+      ptr += val;
+      lastNonWhiteCharIdx = ptr;
       return cur;
     }
   }
 
-  private final BufferedReader infile;
+  private final char[] content;
 
   private boolean             peekDone;
   private LexerState          state;
   private LexerState          stateAfterPeek;
+  private LexerState          spareState;
+
+  /** Reused to build strings literals that contain escape sequences. */
+  private final StringBuilder stringBuilder;
+
+  /** Tokens produced so far, to be cached, or null if not recording. */
+  private final RecordedTokens recorded;
 
-  private final Field nextCharField;
+  /** Tokens read instead of lexing the content, or null if not replaying. */
+  private final RecordedTokens replayed;
 
-  protected Lexer(final Reader reader, final long fileSize) {
-    /** TODO: we rely on the internal implementation to get the position in the
-     *        file. This should be fixed and reimplemented to avoid such hacks.
-     *        We need to know for Truffle the character index of a token,
-     *        but we do not get it because line-based reading does split the
-     *        type of end-of-line indicator and its length.
-     */
-    infile = new BufferedReader(reader, (int) fileSize);
+  protected Lexer(final String content) {
+    this(content.toCharArray(), null, null);
+  }
+
+  private Lexer(final char[] content, final RecordedTokens recorded,
+      final RecordedTokens replayed) {
+    this.content  = content;
+    this.recorded = recorded;
+    this.replayed = replayed;
     peekDone = false;
     state = new LexerState();
-    state.buf = "";
-    state.text = new StringBuffer();
-    state.bufPointer = 0;
-    state.lineNumber = 0;
+    state.lineNumber = 1;
+    state.set(Symbol.NONE);
+    spareState = new LexerState();
+    stringBuilder = new StringBuilder();
+  }
+
+  /** Create a lexer that continues at the given coordinate of the content. */
+  protected Lexer(final char[] content, final SourceCoordinate start) {
+    this(content, null, null);
+    state.lineNumber = start.startLine;
+    state.lineStart  = start.charIndex - start.startColumn + 1;
+    state.ptr        = start.charIndex;
+    state.lastNonWhiteCharIdx = start.lastNonWhiteIdx;
+  }
+
+  /** Create a lexer that records the tokens it produces. */
+  static Lexer recording(final char[] content) {
+    return new Lexer(content, new RecordedTokens(), null);
+  }
+
+  /**
+   * Create a lexer that replays the tokens recorded for the same content,
+   * instead of lexing it.
+   */
+  static Lexer replaying(final char[] content, final RecordedTokens tokens) {
+    return new Lexer(content, null, tokens);
+  }
+
+  char[] getContent() {
+    return content;
+  }
+
+  RecordedTokens getRecordedTokens() {
+    return recorded;
+  }
+
+  /**
+   * The tokens and comment parts a lexer produced, in the order in which the
+   * parser requested them. As long as the content and the parser are the
+   * same, the parser requests them in the same order again, and they can be
+   * replayed without looking at the characters.
+   *
+   * <p>Each token is encoded as the differences of its state to the previous
+   * token, which are mostly small, as variable-length integers.
+   */
+  static final class RecordedTokens {
+    private static final byte TOKEN   = 0;
+    private static final byte COMMENT = 1;
+
+    private static final Symbol[] SYMBOLS = Symbol.values();
+
+    private byte[] buffer;
+    private int    length;
+    private int    position;
+
+    // the previous token, from which the next one is encoded as difference
+    private int lastPtr;
+    private int lastLineNumber;
+    private int lastLineStart;
+
+    RecordedTokens() {
+      this(new byte[1024], 0);
+    }
+
+    RecordedTokens(final byte[] buffer, final int length) {
+      this.buffer = buffer;
+      this.length = length;
+      lastLineNumber = 1;
+    }
+
+    byte[] getBuffer() {
+      return buffer;
+    }
+
+    int getLength() {
+      return length;
+    }
+
+    void writeToken(final LexerState s) {
+      writeByte(TOKEN);
+      writeByte((byte) s.sym.ordinal());
+      writeInt(s.ptr - lastPtr);
+      writeInt(s.lineNumber - lastLineNumber);
+      writeInt(s.lineStart - lastLineStart);
+      writeInt(s.ptr - s.lastNonWhiteCharIdx);
+      writeInt(s.ptr - s.startCharIdx);
+      writeInt(s.lineNumber - s.startLine);
+      writeInt(s.startColumn - (s.startCharIdx - s.lineStart));
+      writeInt(s.startCharIdx - s.startLastNonWhiteCharIdx);
+      if (s.text == null) {
+        writeInt(s.textStart - s.startCharIdx);
+        writeInt(s.textEnd - s.textStart);
+      } else {
+        writeInt(-1);
+        writeString(s.text);
+      }
+      lastPtr        = s.ptr;
+      lastLineNumber = s.lineNumber;
+      lastLineStart  = s.lineStart;
+    }
+
+    void readToken(final LexerState s) {
+      expect(TOKEN);
+      s.sym          = SYMBOLS[readByte()];
+      s.ptr          = lastPtr + readInt();
+      s.lineNumber   = lastLineNumber + readInt();
+      s.lineStart    = lastLineStart + readInt();
+      s.lastNonWhiteCharIdx = s.ptr - readInt();
+      s.startCharIdx = s.ptr - readInt();
+      s.startLine    = s.lineNumber - readInt();
+      s.startColumn  = s.startCharIdx - s.lineStart + readInt();
+      s.startLastNonWhiteCharIdx = s.startCharIdx - readInt();
+      s.startCoord   = null;
+
+      int textOffset = readInt();
+      if (textOffset == -1) {
+        s.text = readString();
+      } else {
+        s.text      = null;
+        s.textStart = s.startCharIdx + textOffset;
+        s.textEnd   = s.textStart + readInt();
+      }
+      lastPtr        = s.ptr;
+      lastLineNumber = s.lineNumber;
+      lastLineStart  = s.lineStart;
+    }
+
+    void writeComment(final String comment) {
+      writeByte(COMMENT);
+      writeString(comment);
+    }
+
+    String readComment() {
+      expect(COMMENT);
+      return readString();
+    }
+
+    private void expect(final byte kind) {
+      if (position >= length || readByte() != kind) {
+        throw new IllegalStateException(
+            "The recorded tokens do not match the requests of the parser.");
+      }
+    }
+
+    private void writeString(final String str) {
+      writeInt(str.length());
+      for (int i = 0; i < str.length(); i++) {
+        writeInt(str.charAt(i));
+      }
+    }
+
+    private String readString() {
+      char[] chars = new char[readInt()];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = (char) readInt();
+      }
+      return new String(chars);
+    }
+
+    /** Write a zigzag-encoded integer, 7 bits per byte. */
+    private void writeInt(final int value) {
+      int v = (value << 1) ^ (value >> 31);
+      while ((v & ~0x7F) != 0) {
+        writeByte((byte) ((v & 0x7F) | 0x80));
+        v >>>= 7;
+      }
+      writeByte((byte) v);
+    }
+
+    private int readInt() {
+      int v = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = readByte();
+        v |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      return (v >>> 1) ^ -(v & 1);
+    }
+
+    private void writeByte(final byte b) {
+      if (length == buffer.length) {
+        buffer = Arrays.copyOf(buffer, length * 2);
+      }
+      buffer[length] = b;
+      length += 1;
+    }
 
-    Field f = null;
-    try {
-      f = infile.getClass().getDeclaredField("nextChar");
-      f.setAccessible(true);
-    } catch (NoSuchFieldException | SecurityException e) {
-      e.printStackTrace();
+    private byte readByte() {
+      if (position >= length) {
+        throw new IllegalStateException("The recorded tokens are truncated.");
+      }
+      byte b = buffer[position];
+      position += 1;
+      return b;
     }
-    nextCharField = f;
   }
 
   public static final class SourceCoordinate {
@@ -133,11 +354,12 @@ public final class Lexer {
     public final int charIndex;
     public final int lastNonWhiteIdx;
 
-    public SourceCoordinate(final LexerState state) {
-      this.startLine   = state.lineNumber;
-      this.startColumn = state.bufPointer + 1;
-      this.charIndex   = state.charsRead + state.bufPointer;
-      this.lastNonWhiteIdx = state.lastNonWhiteCharIdx;
+    public SourceCoordinate(final int startLine, final int startColumn,
+        final int charIndex, final int lastNonWhiteIdx) {
+      this.startLine   = startLine;
+      this.startColumn = startColumn;
+      this.charIndex   = charIndex;
+      this.lastNonWhiteIdx = lastNonWhiteIdx;
       assert startLine   >= 0;
       assert startColumn >= 0;
       assert charIndex   >= 0;
@@ -150,28 +372,43 @@ public final class Lexer {
   }
 
   public SourceCoordinate getStartCoordinate() {
+    if (state.startCoord == null) {
+      state.startCoord = new SourceCoordinate(state.startLine,
+          state.startColumn, state.startCharIdx, state.startLastNonWhiteCharIdx);
+    }
     return state.startCoord;
   }
 
   protected Symbol getSym() {
     if (peekDone) {
       peekDone = false;
+      spareState = state;
       state = stateAfterPeek;
       stateAfterPeek = null;
-      state.text = new StringBuffer(state.text);
       return state.sym;
     }
 
-    do {
-      if (!hasMoreInput()) {
-        state.set(Symbol.NONE);
-        return state.sym;
-      }
-      skipWhiteSpace();
+    if (replayed != null) {
+      replayed.readToken(state);
+      return state.sym;
     }
-    while (endOfBuffer() || Character.isWhitespace(currentChar()));
 
-    state.startCoord = new SourceCoordinate(state);
+    lexSym();
+
+    if (recorded != null) {
+      recorded.writeToken(state);
+    }
+    return state.sym;
+  }
+
+  private void lexSym() {
+    skipWhiteSpace();
+    if (endOfInput()) {
+      state.set(Symbol.NONE);
+      return;
+    }
+
+    state.markStart();
 
     if (currentChar() == '\'') {
       lexString();
@@ -182,14 +419,14 @@ public final class Lexer {
     } else if (currentChar() == ':') {
       if (nextChar() == '=') {
         state.incPtr(2);
-        state.set(Symbol.Assign, '\0', ":=");
+        state.set(Symbol.Assign, ":=");
       } else if (nextChar() == ':') {
         state.incPtr();
         if (nextChar() == '=') { // a little hack to have a double peek...
           state.incPtr(2);
-          state.set(Symbol.SlotMutableAssign, '\0', "::=");
+          state.set(Symbol.SlotMutableAssign, "::=");
         } else {
-          state.set(Symbol.Colon, ':', ":");
+          state.set(Symbol.Colon, ":");
         }
       } else {
         match(Symbol.Colon);
@@ -197,13 +434,13 @@ public final class Lexer {
     } else if (currentChar() == '(') {
       if (nextChar() == '*') {
         state.incPtr(2);
-        state.set(Symbol.BeginComment, '\0', "(*");
+        state.set(Symbol.BeginComment, "(*");
       } else {
         match(Symbol.NewTerm);
       }
     } else if (currentChar() == '*' && nextChar() == ')') {
       state.incPtr(2);
-      state.set(Symbol.EndComment, '\0', "*)");
+      state.set(Symbol.EndComment, "*)");
     } else if (currentChar() == ')') {
       match(Symbol.EndTerm);
     } else if (currentChar() == '#') {
@@ -218,13 +455,12 @@ public final class Lexer {
       state.incPtr();
       if (currentChar() == ':') {
         state.incPtr();
-        state.set(Symbol.MixinOperator, '\0', "<:");
+        state.set(Symbol.MixinOperator, "<:");
       } else if (currentChar() == '-' && nextChar() == ':') {
         state.incPtr(2);
-        state.set(Symbol.EventualSend, '\0', "<-:");
+        state.set(Symbol.EventualSend, "<-:");
       } else {
-        assert state.bufPointer != 0; // this case is not supported currently
-        state.bufPointer -= 1;
+        state.ptr -= 1;
         lexOperator(); // can't just lex '<' here, because we need to lex '<>' as operator sequence.
       }
     } else if (isOperator(currentChar())) {
@@ -232,27 +468,26 @@ public final class Lexer {
     } else if (Character.isLetter(currentChar())) {
       state.set(Symbol.Identifier);
       while (isIdentifierChar(currentChar())) {
-        state.text.append(bufchar(state.incPtr()));
+        state.incPtr();
       }
       if (currentChar() == ':') {
         state.sym = Symbol.Keyword;
         state.incPtr();
-        state.text.append(':');
         if (Character.isLetter(currentChar())) {
           state.sym = Symbol.KeywordSequence;
           while (Character.isLetter(currentChar()) || currentChar() == ':') {
-            state.text.append(bufchar(state.incPtr()));
+            state.incPtr();
           }
         }
       }
+      state.textEnd = state.ptr;
     } else if (Character.isDigit(currentChar())) {
       lexNumber();
     } else {
-      state.set(Symbol.NONE, currentChar(), "" + currentChar());
-      state.bufPointer++;
+      state.set(Symbol.NONE);
+      state.ptr++;
+      state.textEnd = state.ptr;
     }
-
-    return state.sym;
   }
 
   private void lexNumber() {
@@ -261,65 +496,87 @@ public final class Lexer {
     boolean sawDecimalMark = false;
 
     do {
-      state.text.append(bufchar(state.incPtr()));
+      state.incPtr();
 
       if (!sawDecimalMark      &&
           '.' == currentChar() &&
           Character.isDigit(nextChar())) {
         state.sym = Symbol.Double;
-        state.text.append(bufchar(state.incPtr()));
+        state.incPtr();
       }
     } while (Character.isDigit(currentChar()));
+    state.textEnd = state.ptr;
   }
 
   private void lexEscapeChar() {
-    assert !endOfBuffer();
+    assert !endOfInput();
 
     char current = currentChar();
     switch (current) {
-      case 't': state.text.append("\t"); break;
-      case 'b': state.text.append("\b"); break;
-      case 'n': state.text.append("\n"); break;
-      case 'r': state.text.append("\r"); break;
-      case 'f': state.text.append("\f"); break;
-      case '\'': state.text.append("'"); break;
-      case '\\': state.text.append("\\"); break;
+      case 't': stringBuilder.append('\t'); break;
+      case 'b': stringBuilder.append('\b'); break;
+      case 'n': stringBuilder.append('\n'); break;
+      case 'r': stringBuilder.append('\r'); break;
+      case 'f': stringBuilder.append('\f'); break;
+      case '\'': stringBuilder.append('\''); break;
+      case '\\': stringBuilder.append('\\'); break;
     }
     state.incPtr();
   }
 
-  private void lexStringChar() {
-    if (currentChar() == '\\') {
-      state.incPtr();
-      lexEscapeChar();
-    } else {
-      state.text.append(currentChar());
-      state.incPtr();
-    }
-  }
-
   private void lexString() {
-    state.set(Symbol.STString);
     state.incPtr();
+    state.set(Symbol.STString);
+
+    // the common case is a string without escapes on a single line,
+    // which is directly a slice of the input
+    int end = state.ptr;
+    while (end < content.length && content[end] != '\'' &&
+        content[end] != '\\' && !isLineTerminator(content[end])) {
+      end++;
+    }
+
+    if (end >= content.length || content[end] == '\'') {
+      state.ptr = end;
+      state.textEnd = end;
+      if (!endOfInput()) {
+        state.incPtr();
+      }
+      return;
+    }
+
+    stringBuilder.setLength(0);
+    stringBuilder.append(content, state.ptr, end - state.ptr);
+    state.ptr = end;
 
-    while (currentChar() != '\'') {
-      lexStringChar();
-      while (endOfBuffer()) {
-        if (fillBuffer() == -1) {
-          return;
+    while (!endOfInput() && currentChar() != '\'') {
+      if (currentChar() == '\\') {
+        state.incPtr();
+        if (!endOfInput() && !isLineTerminator(currentChar())) {
+          lexEscapeChar();
         }
+      } else if (isLineTerminator(currentChar())) {
+        // line terminators are not part of the string
+        skipLineTerminator();
+      } else {
+        stringBuilder.append(currentChar());
+        state.incPtr();
       }
     }
 
-    state.incPtr();
+    state.text = stringBuilder.toString();
+    if (!endOfInput()) {
+      state.incPtr();
+    }
   }
 
   private void lexOperator() {
     if (isOperator(nextChar())) {
       state.set(Symbol.OperatorSequence);
       while (isOperator(currentChar())) {
-        state.text.append(bufchar(state.incPtr()));
+        state.incPtr();
       }
+      state.textEnd = state.ptr;
     } else if (currentChar() == '~') {
       match(Symbol.Not);
     } else if (currentChar() == '&') {
@@ -350,26 +607,45 @@ public final class Lexer {
   }
 
   protected Peek peek() {
-    LexerState old = new LexerState(state);
     if (peekDone) {
       throw new IllegalStateException("SOM lexer: cannot peek twice!");
     }
+
+    LexerState current = state;
+    spareState.copyFrom(current);
+    state = spareState;
     getSym();
-    Peek peek = new Peek(state.sym, state.text.toString());
+    Peek peek = new Peek(state.sym, getText());
 
     stateAfterPeek = state;
-    state = old;
+    state = current;
+    spareState = null;
 
     peekDone = true;
     return peek;
   }
 
   protected String getText() {
-    return state.text.toString();
+    LexerState s = state;
+    if (s.text == null) {
+      int length = s.textEnd - s.textStart;
+      if (length == 0) {
+        s.text = "";
+      } else if (length == 1 && content[s.textStart] < ASCII_STRINGS.length) {
+        s.text = ASCII_STRINGS[content[s.textStart]];
+      } else {
+        s.text = new String(content, s.textStart, length);
+      }
+    }
+    return s.text;
   }
 
   protected String getRawBuffer() {
-    return state.buf;
+    int end = state.lineStart;
+    while (end < content.length && !isLineTerminator(content[end])) {
+      end++;
+    }
+    return new String(content, state.lineStart, end - state.lineStart);
   }
 
   protected int getCurrentLineNumber() {
@@ -377,97 +653,94 @@ public final class Lexer {
   }
 
   protected int getCurrentColumn() {
-    return state.bufPointer + 1;
+    return state.ptr - state.lineStart + 1;
   }
 
   protected int getNumberOfNonWhiteCharsRead() {
-    return state.startCoord.lastNonWhiteIdx;
+    return state.startLastNonWhiteCharIdx;
   }
 
   // All characters read and processed, including current line
   protected int getNumberOfCharactersRead() {
-    return state.startCoord.charIndex;
+    return state.startCharIdx;
   }
 
-  private int fillBuffer() {
-    try {
-      if (!infile.ready()) { return -1; }
-
-      try {
-        int charsRead = nextCharField.getInt(infile);
-        assert charsRead >= 0 && charsRead >= state.charsRead;
-        state.charsRead = charsRead;
-      } catch (IllegalArgumentException | IllegalAccessException  e) {
-        e.printStackTrace();
-      }
-
-      state.buf = infile.readLine();
-      if (state.buf == null) { return -1; }
-      ++state.lineNumber;
-      state.bufPointer = 0;
-      return state.buf.length();
-    } catch (IOException ioe) {
-      throw new IllegalStateException("Error reading from input: "
-          + ioe.toString());
+  protected String getCommentPart() {
+    if (replayed != null) {
+      return replayed.readComment();
     }
-  }
 
-  private boolean hasMoreInput() {
-    while (endOfBuffer()) {
-      if (fillBuffer() == -1) {
-        return false;
-      }
+    String comment = lexCommentPart();
+
+    if (recorded != null) {
+      recorded.writeComment(comment);
     }
-    return true;
+    return comment;
   }
 
-  protected String getCommentPart() {
+  private String lexCommentPart() {
     // it ends with either a new comment starting '(*' or the original comment
     // ending with '*)'
     StringBuilder comment = new StringBuilder();
-    boolean commentPartEnded = false;
 
-    while (!commentPartEnded) {
+    while (!endOfInput()) {
       char current = currentChar();
-      commentPartEnded = (current == '(' && nextChar() == '*')
-                      || (current == '*' && nextChar() == ')');
-      if (commentPartEnded) {
+      if ((current == '(' && nextChar() == '*')
+          || (current == '*' && nextChar() == ')')) {
         return comment.toString();
       }
-      comment.append(current);
-      state.incPtr();
 
-      while (endOfBuffer()) {
+      if (isLineTerminator(current)) {
         comment.append('\n');
-        if (fillBuffer() == -1) {
-          return comment.toString();
-        }
+        skipLineTerminator();
+      } else {
+        comment.append(current);
+        state.incPtr();
       }
     }
     return comment.toString();
   }
 
   private void skipWhiteSpace() {
-    while (Character.isWhitespace(currentChar())) {
-      state.bufPointer++;
-      while (endOfBuffer()) {
-        if (fillBuffer() == -1) {
-          return;
-        }
+    while (!endOfInput() && Character.isWhitespace(currentChar())) {
+      if (isLineTerminator(currentChar())) {
+        skipLineTerminator();
+      } else {
+        state.ptr++;
       }
     }
   }
 
+  /**
+   * Skip a line terminator, i.e., '\n', '\r', or "\r\n", and start a new line.
+   */
+  private void skipLineTerminator() {
+    if (currentChar() == '\r' && nextChar() == '\n') {
+      state.ptr += 2;
+    } else {
+      state.ptr += 1;
+    }
+    // like readLine(), a terminator at the end of the file starts no new line
+    if (state.ptr < content.length) {
+      state.lineNumber += 1;
+      state.lineStart = state.ptr;
+    }
+  }
+
+  private static boolean isLineTerminator(final char c) {
+    return c == '\n' || c == '\r';
+  }
+
   private char currentChar() {
-    return bufchar(state.bufPointer);
+    return bufchar(state.ptr);
   }
 
   protected char nextChar() {
-    return bufchar(state.bufPointer + 1);
+    return bufchar(state.ptr + 1);
   }
 
-  private boolean endOfBuffer() {
-    return state.bufPointer >= state.buf.length();
+  private boolean endOfInput() {
+    return state.ptr >= content.length;
   }
 
   private boolean isOperator(final char c) {
@@ -477,12 +750,13 @@ public final class Lexer {
   }
 
   private void match(final Symbol s) {
-    state.set(s, currentChar(), "" + currentChar());
+    state.set(s);
     state.incPtr();
+    state.textEnd = state.ptr;
   }
 
   private char bufchar(final int p) {
-    return p >= state.buf.length() ? '\0' : state.buf.charAt(p);
+    return p >= content.length ? '\0' : content[p];
   }
 
   private boolean isIdentifierChar(final char c) {
@@ -38,6 +38,7 @@ import com.oracle.truffle.api.source.SourceSection;
 import com.sun.istack.internal.NotNull;
 
 import som.VM;
+import som.VmSettings;
 import som.compiler.MixinBuilder.MixinDefinitionError;
 import som.compiler.MixinBuilder.MixinDefinitionId;
 import som.compiler.Variable.Argument;
@@ -62,11 +63,17 @@ public final class MethodBuilder {
   private final MethodBuilder outerBuilder;
   private final boolean       blockMethod;
 
+  // the mixin builder changes sides while parsing, but method bodies might
+  // be parsed lazily, after the whole mixin was parsed
+  private final boolean       classSideIsFixed;
+  private final boolean       fixedClassSide;
+
   private SSymbol signature;
   private boolean needsToCatchNonLocalReturn;
   private boolean throwsNonLocalReturn;       // does directly or indirectly a non-local return
 
   private boolean accessesVariablesOfOuterScope;
+  private boolean accessesOuterSelf;
 
   private final LinkedHashMap<String, Argument> arguments = new LinkedHashMap<>();
   private final LinkedHashMap<String, Local>    locals    = new LinkedHashMap<>();
@@ -78,23 +85,33 @@ public final class MethodBuilder {
 
 
   public MethodBuilder(final MixinBuilder holder, final MixinScope clsScope) {
-    this(holder, clsScope, null, false);
+    this(holder, clsScope, null, false, false, false);
+  }
+
+  /** For method declarations, which stay on the side they were declared on. */
+  public MethodBuilder(final MixinBuilder holder, final MixinScope clsScope,
+      final boolean classSide) {
+    this(holder, clsScope, null, false, true, classSide);
   }
 
   public MethodBuilder(final boolean withoutContext) {
-    this(null, null, null, false);
+    this(null, null, null, false, false, false);
     assert withoutContext;
   }
 
   public MethodBuilder(final MethodBuilder outerBuilder) {
-    this(outerBuilder.directOuterMixin, outerBuilder.getHolderScope(), outerBuilder, true);
+    this(outerBuilder.directOuterMixin, outerBuilder.getHolderScope(),
+        outerBuilder, true, false, false);
   }
 
   private MethodBuilder(final MixinBuilder holder, final MixinScope clsScope,
-      final MethodBuilder outerBuilder, final boolean isBlockMethod) {
+      final MethodBuilder outerBuilder, final boolean isBlockMethod,
+      final boolean classSideIsFixed, final boolean fixedClassSide) {
     this.directOuterMixin = holder;
     this.outerBuilder = outerBuilder;
     this.blockMethod  = isBlockMethod;
+    this.classSideIsFixed = classSideIsFixed;
+    this.fixedClassSide   = fixedClassSide;
 
     MethodScope outer = (outerBuilder != null)
         ? outerBuilder.getCurrentMethodScope()
@@ -102,6 +119,7 @@ public final class MethodBuilder {
     this.currentScope   = new MethodScope(new FrameDescriptor(), outer, clsScope);
 
     accessesVariablesOfOuterScope = false;
+    accessesOuterSelf             = false;
     throwsNonLocalReturn          = false;
     needsToCatchNonLocalReturn    = false;
     embeddedBlockMethods = new ArrayList<SInvokable>();
@@ -150,6 +168,14 @@ public final class MethodBuilder {
     return throwsNonLocalReturn || accessesVariablesOfOuterScope;
   }
 
+  /**
+   * A block that reads only <code>self</code> of its outer contexts does not
+   * need the outer frame, it is sufficient to capture the receiver.
+   */
+  public boolean requiresOnlyOuterSelf() {
+    return accessesOuterSelf && !requiresContext();
+  }
+
   private MethodBuilder markOuterContextsToRequireContextAndGetRootContext() {
     MethodBuilder ctx = outerBuilder;
     while (ctx.outerBuilder != null) {
@@ -220,6 +246,10 @@ public final class MethodBuilder {
   private Method assembleInvokable(ExpressionNode body, final MethodScope scope,
       final SourceSection sourceSection) {
     if (needsToCatchNonLocalReturn()) {
+      if (!VmSettings.INSTRUMENTATION) {
+        // returns from inlined blocks that end the method don't need to throw
+        body = body.withoutTailReturns();
+      }
       body = createCatchNonLocalReturn(body, getFrameOnStackMarkerSlot());
     }
 
@@ -233,7 +263,7 @@ public final class MethodBuilder {
     assert ssBody != null;
 
     MixinBuilder holder = getEnclosingMixinBuilder();
-    String cls = holder != null && holder.isClassSide() ? "_class" : "";
+    String cls = isClassSide() ? "_class" : "";
     String name = holder == null ? "_unknown_" : holder.getName().getString();
 
     SourceSection ssMethod = ssBody.getSource().createSection(
@@ -327,7 +357,11 @@ public final class MethodBuilder {
     if (outerBuilder != null) {
       Variable outerVar = outerBuilder.getVariable(varName);
       if (outerVar != null) {
-        accessesVariablesOfOuterScope = true;
+        if ("self".equals(varName)) {
+          accessesOuterSelf = true;
+        } else {
+          accessesVariablesOfOuterScope = true;
+        }
       }
       return outerVar;
     }
@@ -339,7 +373,7 @@ public final class MethodBuilder {
     MixinBuilder holder = getEnclosingMixinBuilder();
     Variable self = getVariable("self");
     return self.getSuperReadNode(getOuterSelfContextLevel(),
-        holder.getMixinId(), holder.isClassSide(), source);
+        holder.getMixinId(), isClassSide(), source);
   }
 
   public ExpressionNode getSelfRead(@NotNull final SourceSection source) {
@@ -429,6 +463,17 @@ public final class MethodBuilder {
         getOuterSelfContextLevel(), source);
   }
 
+  private boolean isClassSide() {
+    if (outerBuilder != null) {
+      return outerBuilder.isClassSide();
+    }
+    if (classSideIsFixed) {
+      return fixedClassSide;
+    }
+    MixinBuilder holder = getEnclosingMixinBuilder();
+    return holder != null && holder.isClassSide();
+  }
+
   public MixinBuilder getEnclosingMixinBuilder() {
     if (this.directOuterMixin == null) {
       if (outerBuilder == null) {
@@ -66,7 +66,6 @@ import static som.interpreter.SNodeFactory.createMessageSend;
 import static som.interpreter.SNodeFactory.createSequence;
 import static som.vm.Symbols.symbolFor;
 
-import java.io.Reader;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -88,6 +87,7 @@ import som.interpreter.nodes.MessageSendNode.AbstractUninitializedMessageSendNod
 import som.interpreter.nodes.OuterObjectRead;
 import som.interpreter.nodes.literals.BlockNode;
 import som.interpreter.nodes.literals.BlockNode.BlockNodeWithContext;
+import som.interpreter.nodes.literals.BlockNode.BlockNodeWithOuterSelf;
 import som.interpreter.nodes.literals.BooleanLiteralNode.FalseLiteralNode;
 import som.interpreter.nodes.literals.BooleanLiteralNode.TrueLiteralNode;
 import som.interpreter.nodes.literals.DoubleLiteralNode;
@@ -99,13 +99,17 @@ import som.interpreter.nodes.literals.SymbolLiteralNode;
 import som.interpreter.nodes.specialized.BooleanInlinedLiteralNode.AndInlinedLiteralNode;
 import som.interpreter.nodes.specialized.BooleanInlinedLiteralNode.OrInlinedLiteralNode;
 import som.interpreter.nodes.specialized.IfInlinedLiteralNode;
+import som.interpreter.nodes.specialized.IfNilIfNotNilInlinedLiteralsNode;
+import som.interpreter.nodes.specialized.IfNilInlinedLiteralNode;
 import som.interpreter.nodes.specialized.IfTrueIfFalseInlinedLiteralsNode;
 import som.interpreter.nodes.specialized.IntDownToDoInlinedLiteralsNodeGen;
 import som.interpreter.nodes.specialized.IntTimesRepeatLiteralNodeGen;
+import som.interpreter.nodes.specialized.IntToByDoInlinedLiteralsNodeGen;
 import som.interpreter.nodes.specialized.IntToDoInlinedLiteralsNodeGen;
 import som.interpreter.nodes.specialized.whileloops.WhileInlinedLiteralsNode;
 import som.vm.Symbols;
 import som.vmobjects.SInvokable;
+import som.vmobjects.SInvokable.LazyMethod;
 import som.vmobjects.SSymbol;
 import tools.highlight.Tags;
 import tools.highlight.Tags.ArgumentTag;
@@ -155,7 +159,7 @@ public final class Parser {
   }
 
   public static MixinDefinition parseModule(final Source source) throws ParseError, MixinDefinitionError {
-    Parser parser = new Parser(source.getReader(), source.getLength(), source);
+    Parser parser = new Parser(source.getCode(), source);
     SourceCoordinate coord = parser.getCoordinate();
     MixinBuilder moduleBuilder = parser.moduleDeclaration();
     return moduleBuilder.assemble(parser.getSource(coord));
@@ -235,11 +239,21 @@ public final class Parser {
     }
   }
 
-  public Parser(final Reader reader, final long fileSize, final Source source) {
+  public Parser(final String content, final Source source) {
+    this(new Lexer(content), source);
+  }
+
+  /** Create a parser that continues at the given coordinate of the content. */
+  private Parser(final char[] content, final Source source,
+      final SourceCoordinate start) {
+    this(new Lexer(content, start), source);
+  }
+
+  Parser(final Lexer lexer, final Source source) {
     this.source   = source;
 
     sym = NONE;
-    lexer = new Lexer(reader, fileSize);
+    this.lexer = lexer;
     nextSym = NONE;
     getSymbolFromLexer();
 
@@ -715,19 +729,109 @@ public final class Parser {
 
     AccessModifier accessModifier = accessModifier();
     MethodBuilder builder = new MethodBuilder(
-        mxnBuilder, mxnBuilder.getScopeForCurrentParserPosition());
+        mxnBuilder, mxnBuilder.getScopeForCurrentParserPosition(),
+        mxnBuilder.isClassSide());
 
     messagePattern(builder);
     expect(Equal,
         "Unexpected symbol %(found)s. Tried to parse method declaration and expect '=' between message pattern, and method body.",
         KeywordTag.class);
-    ExpressionNode body = methodBlock(builder);
-    SInvokable meth = builder.assemble(body, accessModifier, category, getSource(coord));
+
+    SInvokable meth;
+    if (VmSettings.LAZY_METHOD_COMPILATION) {
+      meth = lazyMethod(builder, accessModifier, category, coord);
+    } else {
+      ExpressionNode body = methodBlock(builder);
+      meth = builder.assemble(body, accessModifier, category, getSource(coord));
+    }
 
     VM.reportNewMethod(meth);
     mxnBuilder.addMethod(meth);
   }
 
+  /**
+   * Skip over the method body, and parse it only when the method is used
+   * for the first time.
+   */
+  private SInvokable lazyMethod(final MethodBuilder builder,
+      final AccessModifier accessModifier, final SSymbol category,
+      final SourceCoordinate declarationCoord) throws ParseError {
+    SourceCoordinate bodyCoord = getCoordinate();
+    expect(NewTerm, DelimiterOpeningTag.class);
+
+    int nesting = 1;
+    while (nesting > 0) {
+      switch (sym) {
+        case NewTerm:
+          nesting += 1;
+          break;
+        case EndTerm:
+          nesting -= 1;
+          break;
+        case BeginComment:
+          comment();
+          continue;
+        case NONE:
+          if (text.isEmpty()) {
+            throw new ParseError("Unexpected end of file. Method body is "
+                + "not closed, expected %(expected)s", EndTerm, this);
+          }
+          break;
+        default:
+          break;
+      }
+      getSymbolFromLexer();
+    }
+
+    LazyMethodBody body = new LazyMethodBody(lexer.getContent(), source,
+        builder, accessModifier, category, declarationCoord, bodyCoord,
+        getSource(declarationCoord));
+    return new SInvokable(builder.getSignature(), accessModifier, category, body);
+  }
+
+  private static final class LazyMethodBody implements LazyMethod {
+    private final char[]           content;
+    private final Source           source;
+    private final MethodBuilder    builder;
+    private final AccessModifier   accessModifier;
+    private final SSymbol          category;
+    private final SourceCoordinate declarationCoord;
+    private final SourceCoordinate bodyCoord;
+    private final SourceSection    sourceSection;
+
+    LazyMethodBody(final char[] content, final Source source,
+        final MethodBuilder builder, final AccessModifier accessModifier,
+        final SSymbol category, final SourceCoordinate declarationCoord,
+        final SourceCoordinate bodyCoord, final SourceSection sourceSection) {
+      this.content          = content;
+      this.source           = source;
+      this.builder          = builder;
+      this.accessModifier   = accessModifier;
+      this.category         = category;
+      this.declarationCoord = declarationCoord;
+      this.bodyCoord        = bodyCoord;
+      this.sourceSection    = sourceSection;
+    }
+
+    @Override
+    public SourceSection getSourceSection() {
+      return sourceSection;
+    }
+
+    @Override
+    public SInvokable assemble() {
+      Parser parser = new Parser(content, source, bodyCoord);
+      try {
+        ExpressionNode body = parser.methodBlock(builder);
+        return builder.assemble(body, accessModifier, category,
+            parser.getSource(declarationCoord));
+      } catch (ParseError | MixinDefinitionError pe) {
+        VM.errorExit(pe.toString());
+        return null;
+      }
+    }
+  }
+
   private void messagePattern(final MethodBuilder builder) throws ParseError {
     builder.addArgumentIfAbsent("self", getEmptySource());
     switch (sym) {
@@ -981,6 +1085,8 @@ public final class Parser {
 
         if (bgenc.requiresContext()) {
           return new BlockNodeWithContext(blockMethod, lastMethodsSourceSection);
+        } else if (bgenc.requiresOnlyOuterSelf()) {
+          return new BlockNodeWithOuterSelf(blockMethod, lastMethodsSourceSection);
         } else {
           return new BlockNode(blockMethod, lastMethodsSourceSection);
         }
@@ -1085,6 +1191,15 @@ public final class Parser {
       if (node != null) {
         return node;
       }
+
+      // tools need to see the original sends
+      if (!VmSettings.INSTRUMENTATION) {
+        node = ConstantFolding.foldBinaryMessage(msg, receiver, operand,
+            getSource(coord));
+        if (node != null) {
+          return node;
+        }
+      }
     }
     return createMessageSend(msg, new ExpressionNode[] {receiver, operand},
         eventualSend, getSource(coord));
@@ -1156,17 +1271,9 @@ public final class Parser {
     if (numberOfArguments == 2) {
       if (arguments.get(1) instanceof LiteralNode) {
         if ("ifTrue:".equals(msgStr)) {
-          ExpressionNode condition = arguments.get(0);
-          condition.markAsControlFlowCondition();
-          ExpressionNode inlinedBody = ((LiteralNode) arguments.get(1)).inline(builder);
-          return new IfInlinedLiteralNode(condition, true, inlinedBody,
-              arguments.get(1), source);
+          return inlineIf(builder, arguments, true, source);
         } else if ("ifFalse:".equals(msgStr)) {
-          ExpressionNode condition = arguments.get(0);
-          condition.markAsControlFlowCondition();
-          ExpressionNode inlinedBody = ((LiteralNode) arguments.get(1)).inline(builder);
-          return new IfInlinedLiteralNode(condition, false, inlinedBody,
-              arguments.get(1), source);
+          return inlineIf(builder, arguments, false, source);
         } else if ("whileTrue:".equals(msgStr)) {
           ExpressionNode inlinedCondition = ((LiteralNode) arguments.get(0)).inline(builder);
           inlinedCondition.markAsControlFlowCondition();
@@ -1192,6 +1299,15 @@ public final class Parser {
           inlinedBody.markAsLoopBody();
           return IntTimesRepeatLiteralNodeGen.create(inlinedBody,
               arguments.get(1), source, arguments.get(0));
+        } else if ("ifNil:".equals(msgStr) && takesArguments(arguments.get(1), 0)) {
+          ExpressionNode inlinedBody = ((LiteralNode) arguments.get(1)).inline(builder);
+          return new IfNilInlinedLiteralNode(arguments.get(0), true, inlinedBody,
+              arguments.get(1), source);
+        } else if ("ifNotNil:".equals(msgStr) && takesArguments(arguments.get(1), 1)) {
+          Local rcvr = builder.addLocal("rcvr:" + source.getCharIndex(), source);
+          ExpressionNode inlinedBody = ((LiteralNode) arguments.get(1)).inline(builder, rcvr);
+          return new IfNilInlinedLiteralNode(rcvr.getWriteNode(0, arguments.get(0), source),
+              false, inlinedBody, arguments.get(1), source);
         }
       }
     } else if (numberOfArguments == 3) {
@@ -1201,6 +1317,13 @@ public final class Parser {
         condition.markAsControlFlowCondition();
         ExpressionNode inlinedTrueNode  = ((LiteralNode) arguments.get(1)).inline(builder);
         ExpressionNode inlinedFalseNode = ((LiteralNode) arguments.get(2)).inline(builder);
+        if (!VmSettings.INSTRUMENTATION) {
+          ExpressionNode taken = ConstantFolding.foldIfTrueIfFalse(condition,
+              inlinedTrueNode, inlinedFalseNode);
+          if (taken != null) {
+            return taken;
+          }
+        }
         return new IfTrueIfFalseInlinedLiteralsNode(condition,
             inlinedTrueNode, inlinedFalseNode, arguments.get(1), arguments.get(2),
             source);
@@ -1218,11 +1341,60 @@ public final class Parser {
         inlinedBody.markAsLoopBody();
         return IntDownToDoInlinedLiteralsNodeGen.create(inlinedBody, loopIdx.getSlot(), loopIdx.source,
             arguments.get(2), source, arguments.get(0), arguments.get(1));
+      } else if ("ifNil:ifNotNil:".equals(msgStr) &&
+          takesArguments(arguments.get(1), 0) && takesArguments(arguments.get(2), 1)) {
+        Local rcvr = builder.addLocal("rcvr:" + source.getCharIndex(), source);
+        ExpressionNode inlinedNilNode    = ((LiteralNode) arguments.get(1)).inline(builder);
+        ExpressionNode inlinedNotNilNode = ((LiteralNode) arguments.get(2)).inline(builder, rcvr);
+        return new IfNilIfNotNilInlinedLiteralsNode(
+            rcvr.getWriteNode(0, arguments.get(0), source),
+            inlinedNilNode, inlinedNotNilNode, arguments.get(1), arguments.get(2),
+            source);
+      }
+    } else if (numberOfArguments == 4) {
+      if (!VmSettings.DYNAMIC_METRICS && "to:by:do:".equals(msgStr) &&
+          arguments.get(3) instanceof LiteralNode) {
+        Local loopIdx = builder.addLocal("i:" + source.getCharIndex(), source);
+        ExpressionNode inlinedBody = ((LiteralNode) arguments.get(3)).inline(builder, loopIdx);
+        inlinedBody.markAsLoopBody();
+        return IntToByDoInlinedLiteralsNodeGen.create(inlinedBody, loopIdx.getSlot(), loopIdx.source,
+            arguments.get(3), source, arguments.get(0), arguments.get(1), arguments.get(2));
       }
     }
     return null;
   }
 
+  /**
+   * @return true, if the node is a literal that can be inlined in place of a
+   *         block with the given number of arguments
+   */
+  private static boolean takesArguments(final ExpressionNode node,
+      final int numArgs) {
+    if (node instanceof BlockNode) {
+      // the block method's arguments include the block itself
+      return ((BlockNode) node).getBlockMethod().getNumberOfArguments() == numArgs + 1;
+    }
+    return numArgs == 0 && node instanceof LiteralNode;
+  }
+
+  private ExpressionNode inlineIf(final MethodBuilder builder,
+      final List<ExpressionNode> arguments, final boolean expectedBool,
+      final SourceSection source) {
+    ExpressionNode condition = arguments.get(0);
+    condition.markAsControlFlowCondition();
+    ExpressionNode inlinedBody = ((LiteralNode) arguments.get(1)).inline(builder);
+
+    if (!VmSettings.INSTRUMENTATION) {
+      ExpressionNode folded = ConstantFolding.foldIf(condition, expectedBool,
+          inlinedBody, source);
+      if (folded != null) {
+        return folded;
+      }
+    }
+    return new IfInlinedLiteralNode(condition, expectedBool, inlinedBody,
+        arguments.get(1), source);
+  }
+
   private ExpressionNode formula(final MethodBuilder builder)
       throws ParseError, MixinDefinitionError {
     ExpressionNode operand = binaryOperand(builder);
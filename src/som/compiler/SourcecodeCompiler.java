@@ -25,7 +25,6 @@
 package som.compiler;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -41,12 +40,18 @@ public final class SourcecodeCompiler {
   @TruffleBoundary
   public static MixinDefinition compileModule(final File file)
       throws IOException {
-    FileReader stream = new FileReader(file);
-
-    Source source = Source.fromFileName(file.getPath());
-    Parser parser = new Parser(stream, file.length(), source);
+    Source source;
+    // Truffle's cache of file sources is not meant to be used concurrently,
+    // but modules might be parsed in parallel
+    synchronized (SourcecodeCompiler.class) {
+      source = Source.fromFileName(file.getPath());
+    }
+    String content = source.getCode();
+    Lexer lexer = TokenCache.createLexer(content);
+    Parser parser = new Parser(lexer, source);
 
     MixinDefinition result = compile(parser);
+    TokenCache.store(content, lexer);
     VM.reportLoadedSource(source);
     return result;
   }
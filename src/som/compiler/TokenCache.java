@@ -0,0 +1,123 @@
+package som.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+
+import som.VmSettings;
+import som.compiler.Lexer.RecordedTokens;
+
+
+/**
+ * Caches the tokens of modules on disk, which is enabled with
+ * <code>-Dsom.tokenCache=&lt;directory&gt;</code>.
+ *
+ * <p>A cache file is named after checksums and the length of the module's
+ * content, and after the settings that change which tokens the parser
+ * requests. Thus, a changed module simply does not find its old tokens. Files that cannot be
+ * read, or have a different format, are ignored and overwritten.
+ */
+public final class TokenCache {
+
+  private static final int MAGIC = 0x534f4d54; // "SOMT"
+
+  /** Needs to be changed whenever the lexer or the encoding of tokens changes. */
+  private static final int FORMAT_VERSION = 1;
+
+  private static final String SUFFIX = ".tokens";
+
+  private TokenCache() { }
+
+  /**
+   * Create a lexer for the content, which replays the cached tokens if there
+   * are any, and otherwise records them for {@link #store(String, Lexer)}.
+   */
+  static Lexer createLexer(final String content) {
+    if (VmSettings.TOKEN_CACHE == null) {
+      return new Lexer(content);
+    }
+
+    char[] chars = content.toCharArray();
+    RecordedTokens tokens = load(getCacheFile(content));
+    if (tokens != null) {
+      return Lexer.replaying(chars, tokens);
+    }
+    return Lexer.recording(chars);
+  }
+
+  /** Store the tokens of a lexer that recorded them, after a successful parse. */
+  static void store(final String content, final Lexer lexer) {
+    RecordedTokens tokens = lexer.getRecordedTokens();
+    if (tokens == null) {
+      return;
+    }
+
+    File file = getCacheFile(content);
+    int length = tokens.getLength();
+    ByteBuffer data = ByteBuffer.allocate(12 + length);
+    data.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(length);
+    data.put(tokens.getBuffer(), 0, length);
+
+    try {
+      // modules might be parsed in parallel, so the file is moved into place
+      // only once it is complete
+      File directory = file.getAbsoluteFile().getParentFile();
+      directory.mkdirs();
+      Path tmp = Files.createTempFile(directory.toPath(), null, SUFFIX);
+      Files.write(tmp, data.array());
+      Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      // the cache is only an optimization, parsing works without it
+    }
+  }
+
+  static RecordedTokens load(final File file) {
+    if (!file.isFile()) {
+      return null;
+    }
+
+    try {
+      ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+      if (data.remaining() < 12 || data.getInt() != MAGIC
+          || data.getInt() != FORMAT_VERSION) {
+        return null;
+      }
+      int length = data.getInt();
+      if (length != data.remaining()) {
+        return null;
+      }
+      byte[] buffer = new byte[length];
+      data.get(buffer);
+      return new RecordedTokens(buffer, length);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  static File getCacheFile(final String content) {
+    return new File(VmSettings.TOKEN_CACHE, getKey(content) + SUFFIX);
+  }
+
+  /**
+   * The key combines two checksums of the content, which are much cheaper
+   * than a cryptographic hash and only need to detect accidental changes.
+   * With lazy method compilation, the parser skips over method bodies, and
+   * thus requests different tokens.
+   */
+  static String getKey(final String content) {
+    byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length);
+    Adler32 adler = new Adler32();
+    adler.update(bytes, 0, bytes.length);
+
+    return Long.toHexString(crc.getValue() << 32 | adler.getValue())
+        + "-" + bytes.length + (VmSettings.LAZY_METHOD_COMPILATION ? "-lazy" : "");
+  }
+}
@@ -34,14 +34,19 @@ import som.vmobjects.SClass;
 import som.vmobjects.SInvokable;
 import som.vmobjects.SObject;
 import som.vmobjects.SObjectWithClass;
+import som.vmobjects.SRope;
+import som.vmobjects.SSubstring;
 import som.vmobjects.SSymbol;
 
+import com.oracle.truffle.api.dsl.ImplicitCast;
 import com.oracle.truffle.api.dsl.TypeSystem;
 
 @TypeSystem({   boolean.class,
                    long.class,
              BigInteger.class,
                  String.class,
+                  SRope.class,
+             SSubstring.class,
                  double.class,
                  SClass.class,
                 SObject.class,
@@ -56,6 +61,17 @@ import com.oracle.truffle.api.dsl.TypeSystem;
                Object[].class}) // Object[] is only for argument passing
 public class Types {
 
+  /** Primitives on strings do not need to know about ropes. */
+  @ImplicitCast
+  public static String castRope(final SRope rope) {
+    return rope.getString();
+  }
+
+  @ImplicitCast
+  public static String castSubstring(final SSubstring substring) {
+    return substring.getString();
+  }
+
   public static SClass getClassOf(final Object obj) {
     VM.callerNeedsToBeOptimized("If this is reached on a fast path, it indicates "
         + "that it doesn't use the correct nodes or unoptimized code");
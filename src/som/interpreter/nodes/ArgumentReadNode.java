@@ -184,7 +184,7 @@ public abstract class ArgumentReadNode {
 
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
-      return rcvrClass.profile(SArguments.rcvr(determineContext(frame)));
+      return rcvrClass.profile(determineOuterSelf(frame));
     }
 
     @Override public boolean           isSuperSend() { return false; }
@@ -259,6 +259,11 @@ public abstract class ArgumentReadNode {
       this.classSide   = classSide;
     }
 
+    @Override
+    public Object executeGeneric(final VirtualFrame frame) {
+      return determineOuterSelf(frame);
+    }
+
     @Override
     public MixinDefinitionId getEnclosingMixinId() {
       return holderMixin;
@@ -68,6 +68,20 @@ public abstract class ContextualNode extends ExprWithTagsNode {
     return frameType.profile(self.getContext());
   }
 
+  /**
+   * Determine the receiver of the outer context. In contrast to
+   * {@link #determineContext(VirtualFrame)}, this does not require the
+   * blocks to capture their outer frame.
+   */
+  @ExplodeLoop
+  protected final Object determineOuterSelf(final VirtualFrame frame) {
+    Object self = SArguments.rcvr(frame);
+    for (int i = 0; i < contextLevel; i++) {
+      self = ((SBlock) self).getOuterSelf();
+    }
+    return self;
+  }
+
   @Override
   public abstract void replaceWithLexicallyEmbeddedNode(
       final InlinerForLexicallyEmbeddedMethods inlinerForLexicallyEmbeddedMethods);
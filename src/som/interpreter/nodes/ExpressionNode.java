@@ -132,4 +132,21 @@ public abstract class ExpressionNode extends SOMNode {
   public boolean isResultUsed(final ExpressionNode child) {
     return true;
   }
+
+  /**
+   * Remove the local returns in tail position of a method body. Their
+   * result is the result of the method anyway, so that they do not need to
+   * throw a {@link som.interpreter.ReturnException}. Only called on nodes
+   * in tail position, before the method is assembled.
+   *
+   * @return this node, or a new node without returns in tail position
+   */
+  public ExpressionNode withoutTailReturns() {
+    return this;
+  }
+
+  /** @return true, if every evaluation of this node ends in a local return */
+  public boolean alwaysReturnsLocally() {
+    return false;
+  }
 }
@@ -103,6 +103,8 @@ import som.vm.constants.Classes;
 import som.vmobjects.SArray;
 import som.vmobjects.SBlock;
 import som.vmobjects.SClass;
+import som.vmobjects.SRope;
+import som.vmobjects.SSubstring;
 import som.vmobjects.SSymbol;
 import tools.dym.Tags.VirtualInvoke;
 
@@ -269,7 +271,8 @@ public final class MessageSendNode {
           }
           break;
         case "length":
-          if (receiver instanceof String) {
+          if (receiver instanceof String || receiver instanceof SRope
+              || receiver instanceof SSubstring) {
             return makeEagerUnaryPrim(SizeAndLengthPrimFactory.create(true, getSourceSection(), null));
           }
           break;
@@ -587,7 +590,7 @@ public final class MessageSendNode {
           }
           break;
         case "substringFrom:to:":
-          if (arguments[0] instanceof String) {
+          if (arguments[0] instanceof String || arguments[0] instanceof SSubstring) {
             return makeEagerTernaryPrim(SubstringPrimFactory.create(
                 true, getSourceSection(), null, null, null));
           }
@@ -178,6 +178,16 @@ public final class ReturnNonLocalNode extends ContextualNode {
 //      }
     }
 
+    @Override
+    public ExpressionNode withoutTailReturns() {
+      return expression.withoutTailReturns();
+    }
+
+    @Override
+    public boolean alwaysReturnsLocally() {
+      return true;
+    }
+
     @Override
     public void replaceWithIndependentCopyForInlining(final SplitterForLexicallyEmbeddedCode inliner) {
       FrameSlot inlinedFrameOnStack  = inliner.getLocalFrameSlot(frameOnStackMarker.getIdentifier());
@@ -21,6 +21,8 @@
  */
 package som.interpreter.nodes;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
@@ -29,6 +31,7 @@ import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.source.SourceSection;
 
 import som.interpreter.nodes.nary.ExprWithTagsNode;
+import som.interpreter.nodes.specialized.IfInlinedLiteralNode;
 
 @NodeInfo(cost = NodeCost.NONE)
 public final class SequenceNode extends ExprWithTagsNode {
@@ -66,6 +69,43 @@ public final class SequenceNode extends ExprWithTagsNode {
     return false;
   }
 
+  @Override
+  public ExpressionNode withoutTailReturns() {
+    // a guard clause like `cond ifTrue: [ ^ x ]` makes the remaining
+    // statements the else branch, which puts its return in tail position
+    for (int i = 0; i < expressions.length - 1; i++) {
+      if (expressions[i] instanceof IfInlinedLiteralNode &&
+          ((IfInlinedLiteralNode) expressions[i]).bodyAlwaysReturnsLocally()) {
+        ExpressionNode[] rest = Arrays.copyOfRange(expressions, i + 1, expressions.length);
+        ExpressionNode restNode = rest.length == 1
+            ? rest[0] : new SequenceNode(rest, getSourceSection());
+
+        ExpressionNode[] exprs = Arrays.copyOf(expressions, i + 1);
+        exprs[i] = ((IfInlinedLiteralNode) expressions[i]).withElse(restNode);
+        exprs[i] = exprs[i].withoutTailReturns();
+        if (exprs.length == 1) {
+          return exprs[0];
+        }
+        return new SequenceNode(exprs, getSourceSection());
+      }
+    }
+
+    ExpressionNode last = expressions[expressions.length - 1];
+    ExpressionNode newLast = last.withoutTailReturns();
+    if (newLast == last) {
+      return this;
+    }
+
+    ExpressionNode[] exprs = expressions.clone();
+    exprs[exprs.length - 1] = newLast;
+    return new SequenceNode(exprs, getSourceSection());
+  }
+
+  @Override
+  public boolean alwaysReturnsLocally() {
+    return expressions[expressions.length - 1].alwaysReturnsLocally();
+  }
+
   @Override
   public String toString() {
     return "SeqNode[" + getSourceSection() + "]";
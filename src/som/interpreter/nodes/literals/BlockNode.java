@@ -10,6 +10,7 @@ import som.interpreter.InlinerAdaptToEmbeddedOuterContext;
 import som.interpreter.InlinerForLexicallyEmbeddedMethods;
 import som.interpreter.Invokable;
 import som.interpreter.Method;
+import som.interpreter.SArguments;
 import som.interpreter.SplitterForLexicallyEmbeddedCode;
 import som.interpreter.nodes.ExpressionNode;
 import som.vm.Symbols;
@@ -124,4 +125,27 @@ public class BlockNode extends LiteralNode {
       return new BlockNodeWithContext(adapted, getSourceSection());
     }
   }
+
+  /**
+   * A block that accesses only <code>self</code> of its outer context.
+   * It does not capture the outer frame, so that the frame does not need
+   * to be materialized, and the block does not keep it alive.
+   */
+  public static final class BlockNodeWithOuterSelf extends BlockNode {
+
+    public BlockNodeWithOuterSelf(final SInvokable blockMethod,
+        final SourceSection source) {
+      super(blockMethod, source);
+    }
+
+    @Override
+    public SBlock executeSBlock(final VirtualFrame frame) {
+      return new SBlock(blockMethod, null, SArguments.rcvr(frame), blockClass);
+    }
+
+    @Override
+    protected BlockNode createNode(final SInvokable adapted) {
+      return new BlockNodeWithOuterSelf(adapted, getSourceSection());
+    }
+  }
 }
@@ -0,0 +1,26 @@
+package som.interpreter.nodes.nary;
+
+import som.interpreter.nodes.ExpressionNode;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+@NodeChildren({
+  @NodeChild(value = "receiver",  type = ExpressionNode.class),
+  @NodeChild(value = "firstArg",  type = ExpressionNode.class),
+  @NodeChild(value = "secondArg", type = ExpressionNode.class),
+  @NodeChild(value = "thirdArg",  type = ExpressionNode.class),
+  @NodeChild(value = "fourthArg", type = ExpressionNode.class)})
+public abstract class QuinaryExpressionNode extends ExprWithTagsNode {
+
+  public QuinaryExpressionNode(final SourceSection sourceSection) {
+    super(sourceSection);
+  }
+
+  public abstract Object executeEvaluated(final VirtualFrame frame,
+      final Object receiver, final Object firstArg, final Object secondArg,
+      final Object thirdArg, final Object fourthArg);
+}
@@ -22,7 +22,7 @@ public final class IfInlinedLiteralNode extends ExprWithTagsNode {
 
   // In case we need to revert from this optimistic optimization, keep the
   // original nodes around
-  @SuppressWarnings("unused") private final ExpressionNode bodyActualNode;
+  private final ExpressionNode bodyActualNode;
 
   public IfInlinedLiteralNode(
       final ExpressionNode conditionNode,
@@ -56,6 +56,34 @@ public final class IfInlinedLiteralNode extends ExprWithTagsNode {
     }
   }
 
+  public boolean bodyAlwaysReturnsLocally() {
+    return bodyNode.alwaysReturnsLocally();
+  }
+
+  /**
+   * @return an <code>ifTrue:ifFalse:</code> node that evaluates the given
+   *         node if the body is not evaluated
+   */
+  public IfTrueIfFalseInlinedLiteralsNode withElse(final ExpressionNode elseNode) {
+    if (expectedBool) {
+      return new IfTrueIfFalseInlinedLiteralsNode(conditionNode, bodyNode,
+          elseNode, bodyActualNode, elseNode, getSourceSection());
+    } else {
+      return new IfTrueIfFalseInlinedLiteralsNode(conditionNode, elseNode,
+          bodyNode, elseNode, bodyActualNode, getSourceSection());
+    }
+  }
+
+  @Override
+  public ExpressionNode withoutTailReturns() {
+    ExpressionNode body = bodyNode.withoutTailReturns();
+    if (body == bodyNode) {
+      return this;
+    }
+    return new IfInlinedLiteralNode(conditionNode, expectedBool, body,
+        bodyActualNode, getSourceSection());
+  }
+
   @Override
   public boolean isResultUsed(final ExpressionNode child) {
     Node parent = getParent();
@@ -0,0 +1,65 @@
+package som.interpreter.nodes.specialized;
+
+import som.interpreter.nodes.ExpressionNode;
+import som.interpreter.nodes.nary.ExprWithTagsNode;
+import som.vm.constants.Nil;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Inlined version of <code>ifNil:ifNotNil:</code> with two literal blocks.
+ * The receiver node writes the receiver to the local that replaces the
+ * argument of the <code>ifNotNil:</code> block.
+ */
+public final class IfNilIfNotNilInlinedLiteralsNode extends ExprWithTagsNode {
+  private final ConditionProfile condProf = ConditionProfile.createCountingProfile();
+
+  @Child private ExpressionNode rcvrNode;
+  @Child private ExpressionNode nilNode;
+  @Child private ExpressionNode notNilNode;
+
+  // In case we need to revert from this optimistic optimization, keep the
+  // original nodes around
+  @SuppressWarnings("unused") private final ExpressionNode nilActualNode;
+  @SuppressWarnings("unused") private final ExpressionNode notNilActualNode;
+
+  public IfNilIfNotNilInlinedLiteralsNode(
+      final ExpressionNode rcvrNode,
+      final ExpressionNode inlinedNilNode,
+      final ExpressionNode inlinedNotNilNode,
+      final ExpressionNode originalNilNode,
+      final ExpressionNode originalNotNilNode,
+      final SourceSection sourceSection) {
+    super(sourceSection);
+    this.rcvrNode         = rcvrNode;
+    this.nilNode          = inlinedNilNode;
+    this.notNilNode       = inlinedNotNilNode;
+    this.nilActualNode    = originalNilNode;
+    this.notNilActualNode = originalNotNilNode;
+  }
+
+  @Override
+  public Object executeGeneric(final VirtualFrame frame) {
+    if (condProf.profile(Nil.valueIsNil(rcvrNode.executeGeneric(frame)))) {
+      return nilNode.executeGeneric(frame);
+    } else {
+      return notNilNode.executeGeneric(frame);
+    }
+  }
+
+  @Override
+  public boolean isResultUsed(final ExpressionNode child) {
+    if (child == rcvrNode) {
+      return true;
+    }
+    Node parent = getParent();
+    if (parent instanceof ExpressionNode) {
+      return ((ExpressionNode) parent).isResultUsed(this);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,66 @@
+package som.interpreter.nodes.specialized;
+
+import som.interpreter.nodes.ExpressionNode;
+import som.interpreter.nodes.nary.ExprWithTagsNode;
+import som.vm.constants.Nil;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Inlined version of <code>ifNil:</code> and <code>ifNotNil:</code> with a
+ * literal block. If the body is not evaluated, the result is the receiver.
+ *
+ * <p>For <code>ifNotNil:</code>, the receiver node writes the receiver to
+ * the local that replaces the block's argument.
+ */
+public final class IfNilInlinedLiteralNode extends ExprWithTagsNode {
+  private final ConditionProfile condProf = ConditionProfile.createCountingProfile();
+
+  @Child private ExpressionNode rcvrNode;
+  @Child private ExpressionNode bodyNode;
+
+  private final boolean expectedNil;
+
+  // In case we need to revert from this optimistic optimization, keep the
+  // original nodes around
+  @SuppressWarnings("unused") private final ExpressionNode bodyActualNode;
+
+  public IfNilInlinedLiteralNode(
+      final ExpressionNode rcvrNode,
+      final boolean expectedNil,
+      final ExpressionNode inlinedBodyNode,
+      final ExpressionNode originalBodyNode,
+      final SourceSection sourceSection) {
+    super(sourceSection);
+    this.rcvrNode       = rcvrNode;
+    this.expectedNil    = expectedNil;
+    this.bodyNode       = inlinedBodyNode;
+    this.bodyActualNode = originalBodyNode;
+  }
+
+  @Override
+  public Object executeGeneric(final VirtualFrame frame) {
+    Object rcvr = rcvrNode.executeGeneric(frame);
+    if (condProf.profile(Nil.valueIsNil(rcvr) == expectedNil)) {
+      return bodyNode.executeGeneric(frame);
+    } else {
+      return rcvr;
+    }
+  }
+
+  @Override
+  public boolean isResultUsed(final ExpressionNode child) {
+    if (child == rcvrNode) {
+      return true;
+    }
+    Node parent = getParent();
+    if (parent instanceof ExpressionNode) {
+      return ((ExpressionNode) parent).isResultUsed(this);
+    }
+    return true;
+  }
+}
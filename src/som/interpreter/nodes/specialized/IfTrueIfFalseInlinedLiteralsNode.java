@@ -27,8 +27,8 @@ public final class IfTrueIfFalseInlinedLiteralsNode extends ExprWithTagsNode {
 
   // In case we need to revert from this optimistic optimization, keep the
   // original nodes around
-  @SuppressWarnings("unused") private final ExpressionNode trueActualNode;
-  @SuppressWarnings("unused") private final ExpressionNode falseActualNode;
+  private final ExpressionNode trueActualNode;
+  private final ExpressionNode falseActualNode;
 
   public IfTrueIfFalseInlinedLiteralsNode(
       final ExpressionNode conditionNode,
@@ -64,6 +64,22 @@ public final class IfTrueIfFalseInlinedLiteralsNode extends ExprWithTagsNode {
     }
   }
 
+  @Override
+  public ExpressionNode withoutTailReturns() {
+    ExpressionNode trueBranch  = trueNode.withoutTailReturns();
+    ExpressionNode falseBranch = falseNode.withoutTailReturns();
+    if (trueBranch == trueNode && falseBranch == falseNode) {
+      return this;
+    }
+    return new IfTrueIfFalseInlinedLiteralsNode(conditionNode, trueBranch,
+        falseBranch, trueActualNode, falseActualNode, getSourceSection());
+  }
+
+  @Override
+  public boolean alwaysReturnsLocally() {
+    return trueNode.alwaysReturnsLocally() && falseNode.alwaysReturnsLocally();
+  }
+
   @Override
   public boolean isResultUsed(final ExpressionNode child) {
     Node parent = getParent();
@@ -0,0 +1,147 @@
+package som.interpreter.nodes.specialized;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.source.SourceSection;
+
+import som.interpreter.InlinerAdaptToEmbeddedOuterContext;
+import som.interpreter.InlinerForLexicallyEmbeddedMethods;
+import som.interpreter.SplitterForLexicallyEmbeddedCode;
+import som.interpreter.nodes.ExpressionNode;
+import som.interpreter.nodes.nary.ExprWithTagsNode;
+import tools.dym.Tags.LoopNode;
+
+@NodeChildren({
+  @NodeChild(value = "from",  type = ExpressionNode.class),
+  @NodeChild(value = "to",    type = ExpressionNode.class),
+  @NodeChild(value = "step",  type = ExpressionNode.class)})
+public abstract class IntToByDoInlinedLiteralsNode extends ExprWithTagsNode {
+
+  @Child protected ExpressionNode body;
+
+  // In case we need to revert from this optimistic optimization, keep the
+  // original node around
+  private final ExpressionNode bodyActualNode;
+
+  private final FrameSlot loopIndex;
+  private final SourceSection loopIndexSource;
+  @CompilationFinal private double loopFrequency;
+
+  public abstract ExpressionNode getFrom();
+  public abstract ExpressionNode getTo();
+  public abstract ExpressionNode getStep();
+
+  public IntToByDoInlinedLiteralsNode(final ExpressionNode body,
+      final FrameSlot loopIndex, final SourceSection loopIndexSource,
+      final ExpressionNode originalBody,
+      final SourceSection sourceSection) {
+    super(sourceSection);
+    this.body           = body;
+    this.loopIndex      = loopIndex;
+    this.loopIndexSource = loopIndexSource;
+    this.bodyActualNode = originalBody;
+
+    // and, we can already tell the loop index that it is going to be long
+    loopIndex.setKind(FrameSlotKind.Long);
+  }
+
+  @Override
+  protected boolean isTaggedWith(final Class<?> tag) {
+    if (tag == LoopNode.class) {
+      return true;
+    } else {
+      return super.isTaggedWith(tag);
+    }
+  }
+
+  @Specialization
+  public final long doIntToByDo(final VirtualFrame frame, final long from,
+      final long to, final long step) {
+    if (CompilerDirectives.inInterpreter()) {
+      try {
+        doLooping(frame, from, to, step);
+      } finally {
+        SomLoop.reportLoopCount(iterations(from, to, step), this);
+      }
+    } else {
+      doLooping(frame, from, to, step);
+    }
+    return from;
+  }
+
+  @Specialization
+  public final long doIntToByDo(final VirtualFrame frame, final long from,
+      final double to, final long step) {
+    if (CompilerDirectives.inInterpreter()) {
+      try {
+        doLooping(frame, from, (long) to, step);
+      } finally {
+        SomLoop.reportLoopCount(iterations(from, (long) to, step), this);
+      }
+    } else {
+      doLooping(frame, from, (long) to, step);
+    }
+    return from;
+  }
+
+  protected final void doLooping(final VirtualFrame frame, final long from,
+      final long to, final long step) {
+    if (from <= to) {
+      frame.setLong(loopIndex, from);
+      body.executeGeneric(frame);
+    }
+
+    if (CompilerDirectives.inInterpreter()) {
+      long iterations = iterations(from, to, step);
+      loopFrequency = Math.max(0.0, Math.max(loopFrequency, iterations / (iterations + 1.0)));
+    }
+
+    for (long i = from + step;
+        CompilerDirectives.injectBranchProbability(loopFrequency, i <= to);
+        i += step) {
+      frame.setLong(loopIndex, i);
+      body.executeGeneric(frame);
+    }
+  }
+
+  private static long iterations(final long from, final long to, final long step) {
+    if (step <= 0) {
+      return 0;
+    }
+    return (to - from) / step;
+  }
+
+  @Override
+  public void replaceWithLexicallyEmbeddedNode(
+      final InlinerForLexicallyEmbeddedMethods inliner) {
+    IntToByDoInlinedLiteralsNode node = IntToByDoInlinedLiteralsNodeGen.create(body,
+        inliner.addLocalSlot(loopIndex.getIdentifier(), loopIndexSource), loopIndexSource,
+        bodyActualNode, getSourceSection(), getFrom(), getTo(), getStep());
+    replace(node);
+  }
+
+  @Override
+  public void replaceWithIndependentCopyForInlining(
+      final SplitterForLexicallyEmbeddedCode inliner) {
+    FrameSlot inlinedLoopIdx = inliner.getLocalFrameSlot(loopIndex.getIdentifier());
+    replace(IntToByDoInlinedLiteralsNodeGen.create(body, inlinedLoopIdx, loopIndexSource,
+        bodyActualNode, getSourceSection(), getFrom(), getTo(), getStep()));
+  }
+
+  @Override
+  public void replaceWithCopyAdaptedToEmbeddedOuterContext(
+      final InlinerAdaptToEmbeddedOuterContext inliner) {
+    // NOOP: This node has a FrameSlot, but it is local, so does not need to be updated.
+  }
+
+  @Override
+  public boolean isResultUsed(final ExpressionNode child) {
+    return false;
+  }
+}
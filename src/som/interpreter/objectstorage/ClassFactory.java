@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 
 import som.VM;
+import som.VmSettings;
 import som.compiler.MixinDefinition;
 import som.compiler.MixinDefinition.SlotDefinition;
 import som.interpreter.nodes.dispatch.Dispatchable;
@@ -53,6 +54,12 @@ public final class ClassFactory {
   //       think, it should only be accessed on the slow path
   private ObjectLayout instanceLayout;
 
+  /**
+   * Number of changes of the instance layout, used to detect layout churn.
+   * Each slot is expected to be initialized once, which does not count.
+   */
+  private int numberOfLayoutChanges;
+
   private final ClassFactory classClassFactory;
 
   public ClassFactory(final SSymbol name, final MixinDefinition mixinDef,
@@ -80,6 +87,7 @@ public final class ClassFactory {
 
     VM.callerNeedsToBeOptimized("instanceLayout should only be accessed on slow path. (and ClassFactory should only be instantiated on slowpath, too)");
     this.instanceLayout = (instanceSlots == null) ? null : new ObjectLayout(instanceSlots, this, isTransferObject);
+    this.numberOfLayoutChanges = (instanceSlots == null) ? 0 : -instanceSlots.size();
 
     this.classClassFactory = classClassFactory;
   }
@@ -125,26 +133,40 @@ public final class ClassFactory {
 
   public synchronized ObjectLayout updateInstanceLayoutWithInitializedField(
       final SlotDefinition slot, final Class<?> type) {
-    ObjectLayout updated = instanceLayout.withInitializedField(slot, type);
-
-    if (updated != instanceLayout) {
-      CompilerDirectives.transferToInterpreterAndInvalidate();
-      instanceLayout = updated;
-    }
-    return instanceLayout;
+    return updateInstanceLayout(instanceLayout.withInitializedField(slot, type));
   }
 
   public synchronized ObjectLayout updateInstanceLayoutWithGeneralizedField(
       final SlotDefinition slot) {
-    ObjectLayout updated = instanceLayout.withGeneralizedField(slot);
+    return updateInstanceLayout(instanceLayout.withGeneralizedField(slot));
+  }
 
+  private ObjectLayout updateInstanceLayout(final ObjectLayout updated) {
     if (updated != instanceLayout) {
       CompilerDirectives.transferToInterpreterAndInvalidate();
       instanceLayout = updated;
+
+      numberOfLayoutChanges += 1;
+      if (VmSettings.LAYOUT_CHANGE_LIMIT > 0 &&
+          numberOfLayoutChanges == VmSettings.LAYOUT_CHANGE_LIMIT) {
+        pinToGenericLayout();
+      }
     }
     return instanceLayout;
   }
 
+  /**
+   * The layout of this class changes too often, each change invalidates
+   * compiled code. We give up on specializing the slots, and use a layout
+   * that stores all slots, also the ones initialized later, as objects.
+   */
+  private void pinToGenericLayout() {
+    instanceLayout = instanceLayout.withAllFieldsGeneralized();
+    if (VmSettings.LAYOUT_STATISTICS) {
+      LayoutStatistics.recordPinnedLayout(this);
+    }
+  }
+
   @Override
   public String toString() {
     return "ClsFct[" + className.getString() + "]";
@@ -2,6 +2,7 @@ package som.interpreter.objectstorage;
 
 import som.compiler.MixinDefinition.SlotDefinition;
 import som.interpreter.objectstorage.StorageLocation.AbstractObjectStorageLocation;
+import som.interpreter.objectstorage.StorageLocation.BooleanStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.DoubleStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.LongStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.UnwrittenStorageLocation;
@@ -42,6 +43,15 @@ public final class FieldWriteNode  {
           return new WriteSetOrUnsetDouble(slot, l);
         }
       }
+    } else if (value instanceof Boolean) {
+      if (location instanceof BooleanStorageLocation) {
+        BooleanStorageLocation l = (BooleanStorageLocation) location;
+        if (l.isSet(obj, primMarkProfile)) {
+          return new WriteSetBoolean(slot, l);
+        } else {
+          return new WriteSetOrUnsetBoolean(slot, l);
+        }
+      }
     }
 
     if (location instanceof UnwrittenStorageLocation) {
@@ -210,6 +220,65 @@ public final class FieldWriteNode  {
     }
   }
 
+  private static final class WriteSetBoolean extends AbstractFieldWriteNode {
+    private final BooleanStorageLocation location;
+    private final IntValueProfile primMarkProfile = IntValueProfile.createIdentityProfile();
+
+    WriteSetBoolean(final SlotDefinition slot, final BooleanStorageLocation location) {
+      super(slot);
+      this.location = location;
+    }
+
+    @Override
+    public Object write(final SObject obj, final Object value) {
+      if (value instanceof Boolean) {
+        writeAndEnsureWasSetBefore(obj, (boolean) value);
+      } else {
+        CompilerDirectives.transferToInterpreter();
+        // write the value using the fall back, this is slow, I hope this
+        // is never going to be on the fast path, because the object layout
+        // is changed and this node should be removed from the dispatch chain
+        obj.writeSlot(slot, value);
+      }
+      return value;
+    }
+
+    private void writeAndEnsureWasSetBefore(final SObject selfArg, final boolean valueArg) {
+      location.writeBooleanSet(selfArg, valueArg);
+      if (!location.isSet(selfArg, primMarkProfile)) {
+        CompilerDirectives.transferToInterpreter();
+
+        // fall back to WriteSetOrUnsetBoolean, but first set this
+        location.markAsSet(selfArg);
+        replace(new WriteSetOrUnsetBoolean(slot, location));
+      }
+    }
+  }
+
+  private static final class WriteSetOrUnsetBoolean extends AbstractFieldWriteNode {
+    private final BooleanStorageLocation location;
+
+    WriteSetOrUnsetBoolean(final SlotDefinition slot, final BooleanStorageLocation location) {
+      super(slot);
+      this.location = location;
+    }
+
+    @Override
+    public Object write(final SObject obj, final Object value) {
+      if (value instanceof Boolean) {
+        location.writeBooleanSet(obj, (boolean) value);
+        location.markAsSet(obj);
+      } else {
+        CompilerDirectives.transferToInterpreter();
+        // write the value using the fall back, this is slow, I hope this
+        // is never going to be on the fast path, because the object layout
+        // is changed and this node should be removed from the dispatch chain
+        obj.writeSlot(slot, value);
+      }
+      return value;
+    }
+  }
+
   private static final class WriteObject extends AbstractFieldWriteNode {
     private final StorageLocation location;
 
@@ -4,6 +4,7 @@ import som.compiler.MixinDefinition.SlotDefinition;
 import som.interpreter.nodes.ExpressionNode;
 import som.interpreter.nodes.nary.ExprWithTagsNode;
 import som.interpreter.objectstorage.StorageLocation.AbstractObjectStorageLocation;
+import som.interpreter.objectstorage.StorageLocation.BooleanStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.DoubleStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.LongStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.UnwrittenStorageLocation;
@@ -52,6 +53,14 @@ public abstract class InitializerFieldWrite extends ExprWithTagsNode {
     return null;
   }
 
+  protected final BooleanStorageLocation getBooleanLocation(final ObjectLayout cachedLayout) {
+    StorageLocation loc = cachedLayout.getStorageLocation(slot);
+    if (loc instanceof BooleanStorageLocation) {
+      return (BooleanStorageLocation) loc;
+    }
+    return null;
+  }
+
   protected final AbstractObjectStorageLocation getObjectLocation(final ObjectLayout cachedLayout) {
     StorageLocation loc = cachedLayout.getStorageLocation(slot);
     if (loc instanceof AbstractObjectStorageLocation) {
@@ -64,7 +73,8 @@ public abstract class InitializerFieldWrite extends ExprWithTagsNode {
     StorageLocation loc = cachedLayout.getStorageLocation(slot);
     if (loc instanceof UnwrittenStorageLocation ||
         loc instanceof LongStorageLocation      ||
-        loc instanceof DoubleStorageLocation) {
+        loc instanceof DoubleStorageLocation    ||
+        loc instanceof BooleanStorageLocation) {
       return cachedLayout.getStorageLocation(slot);
     }
     return null;
@@ -197,6 +207,66 @@ public abstract class InitializerFieldWrite extends ExprWithTagsNode {
     return value;
   }
 
+  @Specialization(
+      assumptions = {"isLatestLayout"},
+      guards = {"location != null",
+                "cachedLayout == rcvr.getObjectLayout()",
+                "location.isSet(rcvr, primMarkProfile)"},
+      limit  = "LIMIT")
+  public final boolean booleanValueSet(final SMutableObject rcvr, final boolean value,
+      @Cached("createProfile()") final IntValueProfile primMarkProfile,
+      @Cached("rcvr.getObjectLayout()") final ObjectLayout cachedLayout,
+      @Cached("cachedLayout.getAssumption()") final Assumption isLatestLayout,
+      @Cached("getBooleanLocation(cachedLayout)") final BooleanStorageLocation location) {
+    location.writeBooleanSet(rcvr, value);
+    return value;
+  }
+
+  @Specialization(
+      assumptions = {"isLatestLayout"},
+      guards   = {"location != null",
+                  "cachedLayout == rcvr.getObjectLayout()"},
+      contains = "booleanValueSet",
+      limit    = "LIMIT")
+  public final boolean booleanValueSetOrUnset(final SMutableObject rcvr, final boolean value,
+      @Cached("rcvr.getObjectLayout()") final ObjectLayout cachedLayout,
+      @Cached("cachedLayout.getAssumption()") final Assumption isLatestLayout,
+      @Cached("getBooleanLocation(cachedLayout)") final BooleanStorageLocation location) {
+    location.writeBooleanSet(rcvr, value);
+    location.markAsSet(rcvr);
+    return value;
+  }
+
+  @Specialization(
+      assumptions = {"isLatestLayout"},
+      guards = {"location != null",
+                "cachedLayout == rcvr.getObjectLayout()",
+                "location.isSet(rcvr, primMarkProfile)"},
+      limit  = "LIMIT")
+  public final boolean booleanValueSet(final SImmutableObject rcvr, final boolean value,
+      @Cached("createProfile()") final IntValueProfile primMarkProfile,
+      @Cached("rcvr.getObjectLayout()") final ObjectLayout cachedLayout,
+      @Cached("cachedLayout.getAssumption()") final Assumption isLatestLayout,
+      @Cached("getBooleanLocation(cachedLayout)") final BooleanStorageLocation location) {
+    location.writeBooleanSet(rcvr, value);
+    return value;
+  }
+
+  @Specialization(
+      assumptions = {"isLatestLayout"},
+      guards   = {"location != null",
+                  "cachedLayout == rcvr.getObjectLayout()"},
+      contains = "booleanValueSet",
+      limit    = "LIMIT")
+  public final boolean booleanValueSetOrUnset(final SImmutableObject rcvr, final boolean value,
+      @Cached("rcvr.getObjectLayout()") final ObjectLayout cachedLayout,
+      @Cached("cachedLayout.getAssumption()") final Assumption isLatestLayout,
+      @Cached("getBooleanLocation(cachedLayout)") final BooleanStorageLocation location) {
+    location.writeBooleanSet(rcvr, value);
+    location.markAsSet(rcvr);
+    return value;
+  }
+
   @Specialization(
       assumptions = {"isLatestLayout"},
       guards   = {"location != null",
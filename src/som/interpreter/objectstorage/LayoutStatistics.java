@@ -0,0 +1,121 @@
+package som.interpreter.objectstorage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import som.VM;
+import som.compiler.MixinDefinition.SlotDefinition;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Records the transitions between object layouts, which are enabled with
+ * <code>-Dsom.layoutStatistics=true</code>.
+ *
+ * <p>Each transition invalidates the assumption of the previous layout, and
+ * thereby deoptimizes all compiled code that depends on it. The statistics
+ * are reported at VM exit, grouped by class.
+ */
+public final class LayoutStatistics {
+
+  private static final class Transition {
+    private final SlotDefinition slot;
+    private final Class<?> oldType;
+    private final Class<?> newType;
+    private final String   site;
+
+    Transition(final SlotDefinition slot, final Class<?> oldType,
+        final Class<?> newType, final String site) {
+      this.slot    = slot;
+      this.oldType = oldType;
+      this.newType = newType;
+      this.site    = site;
+    }
+
+    @Override
+    public String toString() {
+      return slot.getName().getString() + ": " + typeName(oldType) + " -> "
+          + typeName(newType) + " at " + site;
+    }
+  }
+
+  private static final class ClassStatistics {
+    private final ArrayList<Transition> transitions = new ArrayList<>();
+    private int invalidations;
+    private boolean pinned;
+  }
+
+  private static final LinkedHashMap<ClassFactory, ClassStatistics> classes = new LinkedHashMap<>();
+
+  private LayoutStatistics() { }
+
+  public static void registerReportAtExit() {
+    Runtime.getRuntime().addShutdownHook(new Thread(LayoutStatistics::report));
+  }
+
+  public static synchronized void recordTransition(final ClassFactory factory,
+      final SlotDefinition slot, final Class<?> oldType, final Class<?> newType) {
+    CompilerAsserts.neverPartOfCompilation("LayoutStatistics.recordTransition");
+    ClassStatistics stats = getStatistics(factory);
+    stats.transitions.add(new Transition(slot, oldType, newType, getCurrentSite()));
+  }
+
+  public static synchronized void recordInvalidation(final ClassFactory factory) {
+    getStatistics(factory).invalidations += 1;
+  }
+
+  public static synchronized void recordPinnedLayout(final ClassFactory factory) {
+    getStatistics(factory).pinned = true;
+  }
+
+  private static ClassStatistics getStatistics(final ClassFactory factory) {
+    return classes.computeIfAbsent(factory, f -> new ClassStatistics());
+  }
+
+  private static String getCurrentSite() {
+    FrameInstance frame = Truffle.getRuntime().getCurrentFrame();
+    if (frame == null) {
+      return "<vm>";
+    }
+
+    CallTarget target = frame.getCallTarget();
+    if (target instanceof RootCallTarget) {
+      RootCallTarget rootTarget = (RootCallTarget) target;
+      SourceSection source = rootTarget.getRootNode().getSourceSection();
+      if (source != null) {
+        return rootTarget.getRootNode().toString() + " ("
+            + source.getSource().getShortName() + ":" + source.getStartLine() + ")";
+      }
+      return rootTarget.getRootNode().toString();
+    }
+    return target.toString();
+  }
+
+  private static String typeName(final Class<?> type) {
+    if (type == null) {
+      return "unwritten";
+    }
+    return type.getSimpleName();
+  }
+
+  public static synchronized void report() {
+    VM.println("[Layout Statistics]");
+    for (Entry<ClassFactory, ClassStatistics> e : classes.entrySet()) {
+      ClassStatistics stats = e.getValue();
+      VM.println(e.getKey().getClassName().getString()
+          + ": transitions=" + stats.transitions.size()
+          + ", invalidations=" + stats.invalidations
+          + (stats.pinned ? ", pinned to generic layout" : ""));
+      for (Transition t : stats.transitions) {
+        VM.println("  " + t.toString());
+      }
+    }
+  }
+}
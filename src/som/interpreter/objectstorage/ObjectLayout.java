@@ -4,8 +4,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map.Entry;
 
+import som.VmSettings;
 import som.compiler.MixinDefinition.SlotDefinition;
 import som.interpreter.objectstorage.StorageLocation.AbstractObjectStorageLocation;
+import som.interpreter.objectstorage.StorageLocation.BooleanStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.DoubleStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.LongStorageLocation;
 import som.interpreter.objectstorage.StorageLocation.UnwrittenStorageLocation;
@@ -24,9 +26,13 @@ public final class ObjectLayout {
   private final int primitiveStorageLocationsUsed;
   private final int objectStorageLocationsUsed;
   private final int totalNumberOfStorageLocations;
+  private final int numberOfInlineFields;
   private final boolean onlyImmutableFields;
   private final boolean isTransferObject;
 
+  /** All slots are stored as objects, also the ones initialized later. */
+  private final boolean isGeneralized;
+
   private final HashMap<SlotDefinition, StorageLocation> storageLocations;
   private final HashMap<SlotDefinition, Class<?>>        storageTypes;
 
@@ -48,17 +54,29 @@ public final class ObjectLayout {
   public ObjectLayout(final HashMap<SlotDefinition, Class<?>> knownFieldTypes,
       final int numberOfFields, final ClassFactory forClasses,
       final boolean isTransferObject) {
+    this(knownFieldTypes, numberOfFields, forClasses, isTransferObject, false);
+  }
+
+  private ObjectLayout(final HashMap<SlotDefinition, Class<?>> knownFieldTypes,
+      final int numberOfFields, final ClassFactory forClasses,
+      final boolean isTransferObject, final boolean isGeneralized) {
     this.latestLayoutForClass = Truffle.getRuntime().createAssumption();
     this.forClasses = forClasses;
     this.isTransferObject = isTransferObject;
+    this.isGeneralized    = isGeneralized;
 
     storageTypes = knownFieldTypes;
     totalNumberOfStorageLocations = numberOfFields;
+    numberOfInlineFields = SObject.getNumberOfInlineFields(numberOfFields);
     storageLocations = new HashMap<>((int) (numberOfFields / 0.75f));
 
     int nextFreePrimIdx = 0;
     int nextFreeObjIdx  = 0;
 
+    // booleans are packed into a shared primitive field
+    int booleanPrimIdx  = -1;
+    int nextFreeBoolIdx = StorageLocation.BOOLEANS_PER_PRIM_FIELD;
+
     boolean onlyImmutable = true;
 
     for (Entry<SlotDefinition, Class<?>> entry : knownFieldTypes.entrySet()) {
@@ -69,6 +87,14 @@ public final class ObjectLayout {
       } else if (entry.getValue() == Double.class) {
         storage = StorageLocation.createForDouble(this, entry.getKey(), nextFreePrimIdx);
         nextFreePrimIdx++;
+      } else if (entry.getValue() == Boolean.class) {
+        if (nextFreeBoolIdx == StorageLocation.BOOLEANS_PER_PRIM_FIELD) {
+          booleanPrimIdx  = nextFreePrimIdx;
+          nextFreeBoolIdx = 0;
+          nextFreePrimIdx++;
+        }
+        storage = StorageLocation.createForBoolean(this, entry.getKey(), booleanPrimIdx, nextFreeBoolIdx);
+        nextFreeBoolIdx++;
       } else if (entry.getValue() == Object.class) {
         storage = StorageLocation.createForObject(this, entry.getKey(), nextFreeObjIdx);
         nextFreeObjIdx++;
@@ -93,7 +119,7 @@ public final class ObjectLayout {
     latestLayoutForClass.check();
   }
 
-  Assumption getAssumption() {
+  public Assumption getAssumption() {
     return latestLayoutForClass;
   }
 
@@ -109,6 +135,15 @@ public final class ObjectLayout {
     return totalNumberOfStorageLocations;
   }
 
+  /**
+   * @return number of primitive fields, and of object fields, that are
+   *         allocated directly in the instances, see
+   *         {@link SObject#getNumberOfInlineFields(int)}
+   */
+  public int getNumberOfInlineFields() {
+    return numberOfInlineFields;
+  }
+
   public HashMap<SlotDefinition, StorageLocation> getStorageLocations() {
     return storageLocations;
   }
@@ -125,30 +160,64 @@ public final class ObjectLayout {
 
   public ObjectLayout withInitializedField(final SlotDefinition slot, final Class<?> type) {
     Class <?> specType;
-    if (type == Long.class || type == Double.class) {
+    if (isGeneralized) {
+      specType = Object.class;
+    } else if (type == Long.class || type == Double.class || type == Boolean.class) {
       specType = type;
     } else {
       specType = Object.class;
     }
 
     Class<?> currentType = storageTypes.get(slot);
-    if (currentType == specType) {
+    if (currentType == specType || currentType == Object.class) {
       return this;
+    } else if (currentType != null) {
+      // the slot was initialized with a value of a different type by another
+      // object, which had an outdated layout
+      return cloneWithChanged(slot, Object.class);
     } else {
-      assert currentType == null;
       return cloneWithChanged(slot, specType);
     }
   }
 
+  /**
+   * @return a layout that stores all slots as objects, also the ones that
+   *         are initialized later, so that initializing or generalizing a
+   *         slot does not change it anymore. Objects that still have an
+   *         older layout are updated to it, as for any other layout change.
+   */
+  public ObjectLayout withAllFieldsGeneralized() {
+    latestLayoutForClass.invalidate();
+
+    HashMap<SlotDefinition, Class<?>> generalized = new HashMap<>(storageTypes);
+    for (Entry<SlotDefinition, Class<?>> e : generalized.entrySet()) {
+      if (VmSettings.LAYOUT_STATISTICS && e.getValue() != Object.class) {
+        LayoutStatistics.recordTransition(forClasses, e.getKey(), e.getValue(), Object.class);
+      }
+      e.setValue(Object.class);
+    }
+
+    if (VmSettings.LAYOUT_STATISTICS) {
+      LayoutStatistics.recordInvalidation(forClasses);
+    }
+    return new ObjectLayout(generalized, totalNumberOfStorageLocations,
+        forClasses, isTransferObject, true);
+  }
+
   protected ObjectLayout cloneWithChanged(final SlotDefinition slot,
       final Class<?> specType) {
     // we create a new updated layout, and invalidate the old one
     latestLayoutForClass.invalidate();
 
+    if (VmSettings.LAYOUT_STATISTICS) {
+      LayoutStatistics.recordTransition(forClasses, slot, storageTypes.get(slot), specType);
+      LayoutStatistics.recordInvalidation(forClasses);
+    }
+
     HashMap<SlotDefinition, Class<?>> withChangedField = new HashMap<>(storageTypes);
     withChangedField.put(slot, specType);
     return new ObjectLayout(withChangedField, totalNumberOfStorageLocations,
-        forClasses, isTransferObject);
+        forClasses, isTransferObject, isGeneralized);
   }
 
   public StorageLocation getStorageLocation(final SlotDefinition slot) {
@@ -156,13 +225,13 @@ public final class ObjectLayout {
   }
 
   public int getNumberOfUsedExtendedObjectStorageLocations() {
-    int requiredExtensionFields = objectStorageLocationsUsed - SObject.NUM_OBJECT_FIELDS;
+    int requiredExtensionFields = objectStorageLocationsUsed - numberOfInlineFields;
     if (requiredExtensionFields < 0) { return 0; }
     return requiredExtensionFields;
   }
 
   public int getNumberOfUsedExtendedPrimStorageLocations() {
-    int requiredExtensionFields = primitiveStorageLocationsUsed - SObject.NUM_PRIMITIVE_FIELDS;
+    int requiredExtensionFields = primitiveStorageLocationsUsed - numberOfInlineFields;
     if (requiredExtensionFields < 0) { return 0;  }
     return requiredExtensionFields;
   }
@@ -182,6 +251,8 @@ public final class ObjectLayout {
         type = "long";
       } else if (loc instanceof DoubleStorageLocation) {
         type = "double";
+      } else if (loc instanceof BooleanStorageLocation) {
+        type = "boolean";
       } else if (loc instanceof AbstractObjectStorageLocation) {
         type = "object";
       } else {
@@ -38,6 +38,16 @@ public abstract class StorageLocation {
     return unsafe.objectFieldOffset(field);
   }
 
+  /** Atomically sets an int field that is otherwise accessed plainly. */
+  public static boolean compareAndSwapInt(final Object obj, final long fieldOffset,
+      final int expected, final int value) {
+    return unsafe.compareAndSwapInt(obj, fieldOffset, expected, value);
+  }
+
+  public static int getIntVolatile(final Object obj, final long fieldOffset) {
+    return unsafe.getIntVolatile(obj, fieldOffset);
+  }
+
   public interface LongStorageLocation {
     boolean isSet(SObject obj, IntValueProfile primMarkProfile);
     void markAsSet(SObject obj);
@@ -52,9 +62,23 @@ public abstract class StorageLocation {
     void   writeDoubleSet(final SObject obj, final double value);
   }
 
+  public interface BooleanStorageLocation {
+    boolean isSet(SObject obj, IntValueProfile primMarkProfile);
+    void markAsSet(SObject obj);
+    boolean readBooleanSet(final SObject obj);
+    void    writeBooleanSet(final SObject obj, final boolean value);
+  }
+
+  /**
+   * Booleans are packed into the primitive fields. Each boolean uses two
+   * bits, one to mark it as set, and one for its value. Thus, a single
+   * primitive field holds up to 32 boolean slots.
+   */
+  public static final int BOOLEANS_PER_PRIM_FIELD = 32;
+
   public static StorageLocation createForLong(final ObjectLayout layout,
       final SlotDefinition slot, final int primFieldIndex) {
-    if (primFieldIndex < SObject.NUM_PRIMITIVE_FIELDS) {
+    if (primFieldIndex < layout.getNumberOfInlineFields()) {
       return new LongDirectStoreLocation(layout, slot, primFieldIndex);
     } else {
       return new LongArrayStoreLocation(layout, slot, primFieldIndex);
@@ -63,16 +87,25 @@ public abstract class StorageLocation {
 
   public static StorageLocation createForDouble(final ObjectLayout layout,
       final SlotDefinition slot, final int primFieldIndex) {
-    if (primFieldIndex < SObject.NUM_PRIMITIVE_FIELDS) {
+    if (primFieldIndex < layout.getNumberOfInlineFields()) {
       return new DoubleDirectStoreLocation(layout, slot, primFieldIndex);
     } else {
       return new DoubleArrayStoreLocation(layout, slot, primFieldIndex);
     }
   }
 
+  public static StorageLocation createForBoolean(final ObjectLayout layout,
+      final SlotDefinition slot, final int primFieldIndex, final int booleanIndex) {
+    if (primFieldIndex < layout.getNumberOfInlineFields()) {
+      return new BooleanDirectStoreLocation(layout, slot, primFieldIndex, booleanIndex);
+    } else {
+      return new BooleanArrayStoreLocation(layout, slot, primFieldIndex, booleanIndex);
+    }
+  }
+
   public static StorageLocation createForObject(final ObjectLayout layout,
       final SlotDefinition slot, final int objFieldIndex) {
-    if (objFieldIndex < SObject.NUM_PRIMITIVE_FIELDS) {
+    if (objFieldIndex < layout.getNumberOfInlineFields()) {
       return new ObjectDirectStorageLocation(layout, slot, objFieldIndex);
     } else {
       return new ObjectArrayStorageLocation(layout, slot, objFieldIndex);
@@ -181,7 +214,7 @@ public abstract class StorageLocation {
     public ObjectArrayStorageLocation(final ObjectLayout layout,
         final SlotDefinition slot, final int objFieldIdx) {
       super(layout, slot);
-      extensionIndex = objFieldIdx - SObject.NUM_OBJECT_FIELDS;
+      extensionIndex = objFieldIdx - layout.getNumberOfInlineFields();
     }
 
     @Override
@@ -214,7 +247,7 @@ public abstract class StorageLocation {
     }
 
     @Override
-    public final boolean isSet(final SObject obj, final IntValueProfile primMarkProfile) {
+    public boolean isSet(final SObject obj, final IntValueProfile primMarkProfile) {
       return obj.isPrimitiveSet(mask, primMarkProfile);
     }
 
@@ -223,7 +256,7 @@ public abstract class StorageLocation {
       return false;
     }
 
-    public final void markAsSet(final SObject obj) {
+    public void markAsSet(final SObject obj) {
       obj.markPrimAsSet(mask);
     }
 
@@ -351,12 +384,83 @@ public abstract class StorageLocation {
     }
   }
 
+  public static final class BooleanDirectStoreLocation extends PrimitiveDirectStoreLocation
+      implements BooleanStorageLocation {
+    private final long setBit;
+    private final long valueBit;
+
+    public BooleanDirectStoreLocation(final ObjectLayout layout,
+        final SlotDefinition slot, final int primField, final int booleanIndex) {
+      super(layout, slot, primField);
+      assert 0 <= booleanIndex && booleanIndex < BOOLEANS_PER_PRIM_FIELD;
+      setBit   = 1L << (2 * booleanIndex);
+      valueBit = 1L << (2 * booleanIndex + 1);
+    }
+
+    @Override
+    public boolean isSet(final SObject obj, final IntValueProfile primMarkProfile) {
+      return (unsafe.getLong(obj, offset) & setBit) != 0;
+    }
+
+    @Override
+    public void markAsSet(final SObject obj) {
+      unsafe.putLong(obj, offset, unsafe.getLong(obj, offset) | setBit);
+    }
+
+    @Override
+    public Object read(final SObject obj) {
+      if (isSet(obj, null)) {
+        return readBooleanSet(obj);
+      } else {
+        return Nil.nilObject;
+      }
+    }
+
+    @Override
+    public boolean readBooleanSet(final SObject obj) {
+      return (unsafe.getLong(obj, offset) & valueBit) != 0;
+    }
+
+    @Override
+    public Object readSet(final SObject obj) {
+      return readBooleanSet(obj);
+    }
+
+    @Override
+    public void writeSet(final SObject obj, final Object value) {
+      writeBooleanSet(obj, (boolean) value);
+    }
+
+    @Override
+    public void write(final SObject obj, final Object value) {
+      assert value != null;
+      if (value instanceof Boolean) {
+        writeBooleanSet(obj, (boolean) value);
+        markAsSet(obj);
+      } else {
+        TruffleCompiler.transferToInterpreterAndInvalidate("unstabelized write node");
+        obj.writeAndGeneralizeSlot(slot, value);
+      }
+    }
+
+    @Override
+    public void writeBooleanSet(final SObject obj, final boolean value) {
+      long bits = unsafe.getLong(obj, offset);
+      if (value) {
+        bits |= valueBit;
+      } else {
+        bits &= ~valueBit;
+      }
+      unsafe.putLong(obj, offset, bits);
+    }
+  }
+
   public abstract static class PrimitiveArrayStoreLocation extends PrimitiveStorageLocation {
     protected final int extensionIndex;
     public PrimitiveArrayStoreLocation(final ObjectLayout layout,
         final SlotDefinition slot, final int primField) {
       super(layout, slot, primField);
-      extensionIndex = primField - SObject.NUM_PRIMITIVE_FIELDS;
+      extensionIndex = primField - layout.getNumberOfInlineFields();
       assert extensionIndex >= 0;
     }
 
@@ -477,4 +581,74 @@ public abstract class StorageLocation {
           value);
     }
   }
+
+  public static final class BooleanArrayStoreLocation extends PrimitiveArrayStoreLocation
+      implements BooleanStorageLocation {
+    private final long setBit;
+    private final long valueBit;
+
+    public BooleanArrayStoreLocation(final ObjectLayout layout,
+        final SlotDefinition slot, final int primField, final int booleanIndex) {
+      super(layout, slot, primField);
+      assert 0 <= booleanIndex && booleanIndex < BOOLEANS_PER_PRIM_FIELD;
+      setBit   = 1L << (2 * booleanIndex);
+      valueBit = 1L << (2 * booleanIndex + 1);
+    }
+
+    @Override
+    public boolean isSet(final SObject obj, final IntValueProfile primMarkProfile) {
+      return (obj.getExtendedPrimFields()[extensionIndex] & setBit) != 0;
+    }
+
+    @Override
+    public void markAsSet(final SObject obj) {
+      obj.getExtendedPrimFields()[extensionIndex] |= setBit;
+    }
+
+    @Override
+    public Object read(final SObject obj) {
+      if (isSet(obj, null)) {
+        return readBooleanSet(obj);
+      } else {
+        return Nil.nilObject;
+      }
+    }
+
+    @Override
+    public boolean readBooleanSet(final SObject obj) {
+      return (obj.getExtendedPrimFields()[extensionIndex] & valueBit) != 0;
+    }
+
+    @Override
+    public Object readSet(final SObject obj) {
+      return readBooleanSet(obj);
+    }
+
+    @Override
+    public void writeSet(final SObject obj, final Object value) {
+      writeBooleanSet(obj, (boolean) value);
+    }
+
+    @Override
+    public void write(final SObject obj, final Object value) {
+      assert value != null;
+      if (value instanceof Boolean) {
+        writeBooleanSet(obj, (boolean) value);
+        markAsSet(obj);
+      } else {
+        TruffleCompiler.transferToInterpreterAndInvalidate("unstabelized write node");
+        obj.writeAndGeneralizeSlot(slot, value);
+      }
+    }
+
+    @Override
+    public void writeBooleanSet(final SObject obj, final boolean value) {
+      long[] arr = obj.getExtendedPrimFields();
+      if (value) {
+        arr[extensionIndex] |= valueBit;
+      } else {
+        arr[extensionIndex] &= ~valueBit;
+      }
+    }
+  }
 }
@@ -89,6 +89,16 @@ public abstract class EqualsPrim extends ComparisonPrim {
     return doDouble(left, (double) right);
   }
 
+  @Specialization
+  public final boolean doBigInteger(final BigInteger left, final double right) {
+    return doDouble(left.doubleValue(), right);
+  }
+
+  @Specialization
+  public final boolean doDouble(final double left, final BigInteger right) {
+    return doDouble(left, right.doubleValue());
+  }
+
   @Specialization
   public final boolean doString(final String receiver, final SSymbol argument) {
     return receiver.equals(argument.getString());
@@ -0,0 +1,161 @@
+package som.primitives;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.source.SourceSection;
+
+import som.interpreter.nodes.dispatch.BlockDispatchNode;
+import som.interpreter.nodes.dispatch.BlockDispatchNodeGen;
+import som.interpreter.nodes.nary.BinaryComplexOperation;
+import som.interpreter.nodes.nary.BinaryExpressionNode;
+import som.interpreter.nodes.nary.TernaryExpressionNode;
+import som.interpreter.nodes.nary.UnaryExpressionNode;
+import som.interpreter.nodes.specialized.SomLoop;
+import som.vm.constants.Nil;
+import som.vmobjects.SBlock;
+import som.vmobjects.SClass;
+import som.vmobjects.SHashMap;
+
+
+/**
+ * Primitives for {@link SHashMap}, which backs the dictionaries of the
+ * core library. Lookups of a key that is not in the table return nil.
+ */
+public abstract class HashMapPrims {
+
+  private static Object nilIfNull(final Object value) {
+    return value == null ? Nil.nilObject : value;
+  }
+
+  @GenerateNodeFactory
+  @Primitive("hashMapNew:")
+  public abstract static class NewPrim extends UnaryExpressionNode {
+    public NewPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization
+    public final SHashMap doSClass(final SClass receiver) {
+      return new SHashMap(receiver, false);
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("identityHashMapNew:")
+  public abstract static class NewIdentityPrim extends UnaryExpressionNode {
+    public NewIdentityPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization
+    public final SHashMap doSClass(final SClass receiver) {
+      return new SHashMap(receiver, true);
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("hashMap:at:")
+  public abstract static class AtPrim extends BinaryExpressionNode {
+    public AtPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+    public AtPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization(guards = "receiver.isLongKeyType()")
+    public final Object doLongKey(final SHashMap receiver, final long key) {
+      return nilIfNull(receiver.get(key));
+    }
+
+    @Specialization
+    public final Object doObjectKey(final SHashMap receiver, final Object key) {
+      return nilIfNull(receiver.get(key));
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("hashMap:includesKey:")
+  public abstract static class IncludesKeyPrim extends BinaryExpressionNode {
+    public IncludesKeyPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+    public IncludesKeyPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization(guards = "receiver.isLongKeyType()")
+    public final boolean doLongKey(final SHashMap receiver, final long key) {
+      return receiver.get(key) != null;
+    }
+
+    @Specialization
+    public final boolean doObjectKey(final SHashMap receiver, final Object key) {
+      return receiver.get(key) != null;
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("hashMap:at:put:")
+  public abstract static class AtPutPrim extends TernaryExpressionNode {
+    public AtPutPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+    public AtPutPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization(guards = "!receiver.isObjectKeyType()")
+    public final Object doLongKey(final SHashMap receiver, final long key,
+        final Object value) {
+      receiver.put(key, value);
+      return value;
+    }
+
+    @Specialization
+    public final Object doObjectKey(final SHashMap receiver, final Object key,
+        final Object value) {
+      receiver.put(key, value);
+      return value;
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("hashMap:removeKey:")
+  public abstract static class RemoveKeyPrim extends BinaryExpressionNode {
+    public RemoveKeyPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+    public RemoveKeyPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization
+    public final Object doSHashMap(final SHashMap receiver, final Object key) {
+      return nilIfNull(receiver.remove(key));
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("hashMapSize:")
+  public abstract static class SizePrim extends UnaryExpressionNode {
+    public SizePrim(final SourceSection source) { super(false, source); }
+
+    @Specialization
+    public final long doSHashMap(final SHashMap receiver) {
+      return receiver.size();
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("hashMap:keysDo:")
+  public abstract static class KeysDoPrim extends BinaryComplexOperation {
+    @Child private BlockDispatchNode block;
+
+    public KeysDoPrim(final boolean eagWrap, final SourceSection source) {
+      super(eagWrap, source);
+      block = BlockDispatchNodeGen.create();
+    }
+    public KeysDoPrim(final SourceSection source) { this(false, source); }
+
+    @Specialization
+    public final SHashMap doSHashMap(final VirtualFrame frame,
+        final SHashMap receiver, final SBlock block) {
+      // iterate a snapshot, the block may add or remove keys, which moves
+      // the entries in the table
+      Object[] keys = receiver.getKeys();
+      try {
+        for (int i = 0; i < keys.length; i++) {
+          this.block.executeDispatch(frame, new Object[] {block, keys[i]});
+        }
+      } finally {
+        if (CompilerDirectives.inInterpreter()) {
+          SomLoop.reportLoopCount(keys.length, this);
+        }
+      }
+      return receiver;
+    }
+  }
+}
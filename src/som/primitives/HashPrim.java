@@ -6,6 +6,7 @@ import com.oracle.truffle.api.source.SourceSection;
 
 import som.interpreter.nodes.nary.UnaryExpressionNode;
 import som.vmobjects.SAbstractObject;
+import som.vmobjects.SObjectWithClass;
 import som.vmobjects.SSymbol;
 
 
@@ -21,7 +22,12 @@ public abstract class HashPrim extends UnaryExpressionNode {
 
   @Specialization
   public final long doSSymbol(final SSymbol receiver) {
-    return receiver.getString().hashCode();
+    return receiver.getHash();
+  }
+
+  @Specialization
+  public final long doSObjectWithClass(final SObjectWithClass receiver) {
+    return receiver.getIdentityHash();
   }
 
   @Specialization
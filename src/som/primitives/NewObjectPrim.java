@@ -1,5 +1,6 @@
 package som.primitives;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -49,27 +50,36 @@ public abstract class NewObjectPrim extends UnaryExpressionNode implements ISpec
   @Override
   public boolean isSuperSend() { return false; }
 
+  // The allocation site caches the layout that the objects of the class
+  // reached so far, and starts new objects directly in it. The layout
+  // assumption is invalidated when the objects need to transition to a new
+  // layout. This removes the specialization and the site picks up the
+  // class' new layout, instead of keeping outdated layouts in the cache and
+  // eventually falling back to the uncached case.
+
   @Specialization(guards = {
       "receiver.getInstanceFactory() == factory",
       "factory.hasSlots()",
-      "factory.hasOnlyImmutableFields()",
-      "receiver.getInstanceFactory().getInstanceLayout() == layout"})
+      "factory.hasOnlyImmutableFields()"},
+      assumptions = "isLatestLayout")
   public final SAbstractObject doClassWithOnlyImmutableFields(final SClass receiver,
       @Cached("receiver.getInstanceFactory()") final ClassFactory factory,
-      @Cached("receiver.getInstanceFactory().getInstanceLayout()") final ObjectLayout layout) {
-    return new SImmutableObject(receiver, factory, layout);
+      @Cached("factory.getInstanceLayout()") final ObjectLayout layout,
+      @Cached("layout.getAssumption()") final Assumption isLatestLayout) {
+    return SImmutableObject.create(receiver, factory, layout);
   }
 
   @Specialization(guards = {
       "receiver.getInstanceFactory() == factory",
       "factory.hasSlots()",
-      "!factory.hasOnlyImmutableFields()",
-      "receiver.getInstanceFactory().getInstanceLayout() == layout"})
+      "!factory.hasOnlyImmutableFields()"},
+      assumptions = "isLatestLayout")
   public final SAbstractObject doClassWithFields(
       final SClass receiver,
       @Cached("receiver.getInstanceFactory()") final ClassFactory factory,
-      @Cached("factory.getInstanceLayout()") final ObjectLayout layout) {
-    return new SMutableObject(receiver, factory, layout);
+      @Cached("factory.getInstanceLayout()") final ObjectLayout layout,
+      @Cached("layout.getAssumption()") final Assumption isLatestLayout) {
+    return SMutableObject.create(receiver, factory, layout);
   }
 
   @Specialization(guards = {
@@ -84,10 +94,11 @@ public abstract class NewObjectPrim extends UnaryExpressionNode implements ISpec
   public final SAbstractObject fallback(final SClass receiver) {
     ClassFactory factory = receiver.getInstanceFactory();
     if (factory.hasSlots()) {
+      ObjectLayout layout = factory.getInstanceLayout();
       if (factory.hasOnlyImmutableFields()) {
-        return doClassWithOnlyImmutableFields(receiver, receiver.getInstanceFactory(), receiver.getInstanceFactory().getInstanceLayout());
+        return doClassWithOnlyImmutableFields(receiver, factory, layout, layout.getAssumption());
       } else {
-        return doClassWithFields(receiver, receiver.getInstanceFactory(), receiver.getInstanceFactory().getInstanceLayout());
+        return doClassWithFields(receiver, factory, layout, layout.getAssumption());
       }
     } else {
       return doClassWithoutFields(receiver, receiver.getInstanceFactory());
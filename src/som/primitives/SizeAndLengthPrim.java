@@ -7,6 +7,8 @@ import com.oracle.truffle.api.source.SourceSection;
 
 import som.interpreter.nodes.nary.UnaryBasicOperation;
 import som.vmobjects.SArray;
+import som.vmobjects.SRope;
+import som.vmobjects.SSubstring;
 import som.vmobjects.SSymbol;
 import tools.dym.Tags.OpLength;
 
@@ -48,6 +50,16 @@ public abstract class SizeAndLengthPrim extends UnaryBasicOperation {
     return receiver.getLongStorage(storageType).length;
   }
 
+  @Specialization(guards = "receiver.isByteType()")
+  public final long doByteSArray(final SArray receiver) {
+    return receiver.getByteStorage(storageType).length;
+  }
+
+  @Specialization(guards = "receiver.isIntType()")
+  public final long doIntSArray(final SArray receiver) {
+    return receiver.getIntStorage(storageType).length;
+  }
+
   @Specialization(guards = "receiver.isDoubleType()")
   public final long doDoubleSArray(final SArray receiver) {
     return receiver.getDoubleStorage(storageType).length;
@@ -58,8 +70,23 @@ public abstract class SizeAndLengthPrim extends UnaryBasicOperation {
     return receiver.getBooleanStorage(storageType).length;
   }
 
+  @Specialization(guards = "receiver.isGrowableType()")
+  public final long doGrowableSArray(final SArray receiver) {
+    return receiver.getGrowableStorage(storageType).getSize();
+  }
+
   public abstract long executeEvaluated(SArray receiver);
 
+  @Specialization
+  public final long doRope(final SRope receiver) {
+    return receiver.length();
+  }
+
+  @Specialization
+  public final long doSubstring(final SSubstring receiver) {
+    return receiver.length();
+  }
+
   @Specialization
   public final long doString(final String receiver) {
     return receiver.length();
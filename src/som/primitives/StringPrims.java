@@ -7,8 +7,13 @@ import com.oracle.truffle.api.source.SourceSection;
 import som.interpreter.nodes.nary.BinaryComplexOperation;
 import som.interpreter.nodes.nary.TernaryExpressionNode;
 import som.interpreter.nodes.nary.UnaryBasicOperation;
+import som.interpreter.nodes.nary.UnaryExpressionNode;
 import som.vm.Symbols;
 import som.vmobjects.SAbstractObject;
+import som.vmobjects.SClass;
+import som.vmobjects.SRope;
+import som.vmobjects.SStringStream;
+import som.vmobjects.SSubstring;
 import som.vmobjects.SSymbol;
 import tools.dym.Tags.ComplexPrimitiveOperation;
 import tools.dym.Tags.StringAccess;
@@ -31,23 +36,38 @@ public class StringPrims {
     }
 
     @Specialization
-    public final String doString(final String receiver, final String argument) {
-      return receiver + argument;
+    public final Object doRope(final SRope receiver, final SRope argument) {
+      return SRope.concat(receiver, argument);
     }
 
     @Specialization
-    public final String doString(final String receiver, final SSymbol argument) {
-      return receiver + argument.getString();
+    public final Object doRope(final SRope receiver, final String argument) {
+      return SRope.concat(receiver, argument);
     }
 
     @Specialization
-    public final String doSSymbol(final SSymbol receiver, final String argument) {
-      return receiver.getString() + argument;
+    public final Object doString(final String receiver, final SRope argument) {
+      return SRope.concat(receiver, argument);
     }
 
     @Specialization
-    public final String doSSymbol(final SSymbol receiver, final SSymbol argument) {
-      return receiver.getString() + argument.getString();
+    public final Object doString(final String receiver, final String argument) {
+      return SRope.concat(receiver, argument);
+    }
+
+    @Specialization
+    public final Object doString(final String receiver, final SSymbol argument) {
+      return SRope.concat(receiver, argument.getString());
+    }
+
+    @Specialization
+    public final Object doSSymbol(final SSymbol receiver, final String argument) {
+      return SRope.concat(receiver.getString(), argument);
+    }
+
+    @Specialization
+    public final Object doSSymbol(final SSymbol receiver, final SSymbol argument) {
+      return SRope.concat(receiver.getString(), argument.getString());
     }
   }
 
@@ -67,7 +87,7 @@ public class StringPrims {
 
     @Specialization
     public final SAbstractObject doString(final String receiver) {
-      return Symbols.symbolFor(receiver);
+      return Symbols.dynamicSymbolFor(receiver);
     }
 
     @Specialization
@@ -93,20 +113,129 @@ public class StringPrims {
       }
     }
 
+    private static boolean isInBounds(final long start, final long end,
+        final int length) {
+      return 1 <= start && start - 1 <= end && end <= length;
+    }
+
+    @Specialization
+    public final Object doSubstring(final SSubstring receiver, final long start,
+        final long end) {
+      if (!isInBounds(start, end, receiver.length())) {
+        return "Error - index out of bounds";
+      }
+      return receiver.substring((int) start - 1, (int) end);
+    }
+
     @Specialization
-    public final String doString(final String receiver, final long start,
+    public final Object doString(final String receiver, final long start,
         final long end) {
-      try {
-        return receiver.substring((int) start - 1, (int) end);
-      } catch (IndexOutOfBoundsException e) {
+      if (!isInBounds(start, end, receiver.length())) {
         return "Error - index out of bounds";
       }
+      return SSubstring.create(receiver, (int) start - 1, (int) end);
     }
 
     @Specialization
-    public final String doSSymbol(final SSymbol receiver, final long start,
+    public final Object doSSymbol(final SSymbol receiver, final long start,
         final long end) {
       return doString(receiver.getString(), start, end);
     }
   }
+
+  @GenerateNodeFactory
+  @Primitive("stringStreamNew:")
+  public abstract static class StringStreamNewPrim extends UnaryExpressionNode {
+    public StringStreamNewPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization
+    public final SStringStream doSClass(final SClass receiver) {
+      return new SStringStream(receiver);
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("stringStream:append:")
+  public abstract static class StringStreamAppendPrim extends BinaryComplexOperation {
+    protected StringStreamAppendPrim(final SourceSection source) { super(false, source); }
+
+    @Override
+    protected boolean isTaggedWithIgnoringEagerness(final Class<?> tag) {
+      if (tag == StringAccess.class) {
+        return true;
+      } else {
+        return super.isTaggedWithIgnoringEagerness(tag);
+      }
+    }
+
+    @Specialization
+    public final SStringStream doRope(final SStringStream receiver, final SRope argument) {
+      receiver.append(argument);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doSubstring(final SStringStream receiver, final SSubstring argument) {
+      receiver.append(argument);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doString(final SStringStream receiver, final String argument) {
+      receiver.append(argument);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doSSymbol(final SStringStream receiver, final SSymbol argument) {
+      receiver.append(argument.getString());
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doLong(final SStringStream receiver, final long argument) {
+      receiver.append(argument);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doDouble(final SStringStream receiver, final double argument) {
+      receiver.append(argument);
+      return receiver;
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("stringStreamContents:")
+  public abstract static class StringStreamContentsPrim extends UnaryExpressionNode {
+    public StringStreamContentsPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization
+    public final String doStream(final SStringStream receiver) {
+      return receiver.getContents();
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("stringStreamSize:")
+  public abstract static class StringStreamSizePrim extends UnaryExpressionNode {
+    public StringStreamSizePrim(final SourceSection source) { super(false, source); }
+
+    @Specialization
+    public final long doStream(final SStringStream receiver) {
+      return receiver.size();
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("stringStreamReset:")
+  public abstract static class StringStreamResetPrim extends UnaryExpressionNode {
+    public StringStreamResetPrim(final SourceSection source) { super(false, source); }
+
+    @Specialization
+    public final SStringStream doStream(final SStringStream receiver) {
+      receiver.reset();
+      return receiver;
+    }
+  }
 }
@@ -73,6 +73,16 @@ public abstract class UnequalsPrim extends ComparisonPrim {
     return doDouble(left, (double) right);
   }
 
+  @Specialization
+  public final boolean doBigInteger(final BigInteger left, final double right) {
+    return doDouble(left.doubleValue(), right);
+  }
+
+  @Specialization
+  public final boolean doDouble(final double left, final BigInteger right) {
+    return doDouble(left, right.doubleValue());
+  }
+
   @Specialization
   public final boolean doLong(final long left, final String right) {
     return true;
@@ -10,6 +10,7 @@ import com.oracle.truffle.api.source.SourceSection;
 
 import som.primitives.Primitive;
 import som.vmobjects.SClass;
+import som.vmobjects.SRope;
 import som.vmobjects.SSymbol;
 
 
@@ -24,9 +25,15 @@ public abstract class AdditionPrim extends ArithmeticPrim {
     return ExactMath.addExact(left, argument);
   }
 
+  /**
+   * After an overflow, results that fit into a long are still returned as
+   * long, so that values close to the limit do not stay large integers.
+   */
   @Specialization
-  public final BigInteger doLongWithOverflow(final long left, final long argument) {
-    return BigInteger.valueOf(left).add(BigInteger.valueOf(argument));
+  public final Object doLongWithOverflow(final long left, final long argument) {
+    long low = left + argument;
+    long carry = Long.compareUnsigned(low, left) < 0 ? 1 : 0;
+    return fromInt128((left >> 63) + (argument >> 63) + carry, low);
   }
 
   @Specialization
@@ -41,9 +48,23 @@ public abstract class AdditionPrim extends ArithmeticPrim {
   }
 
   @Specialization
-  @TruffleBoundary
-  public final String doString(final String left, final String right) {
-    return left + right;
+  public final Object doRope(final SRope left, final SRope right) {
+    return SRope.concat(left, right);
+  }
+
+  @Specialization
+  public final Object doRope(final SRope left, final String right) {
+    return SRope.concat(left, right);
+  }
+
+  @Specialization
+  public final Object doString(final String left, final SRope right) {
+    return SRope.concat(left, right);
+  }
+
+  @Specialization
+  public final Object doString(final String left, final String right) {
+    return SRope.concat(left, right);
   }
 
   @Specialization
@@ -78,6 +99,16 @@ public abstract class AdditionPrim extends ArithmeticPrim {
     return doDouble(left, (double) right);
   }
 
+  @Specialization
+  public final double doBigInteger(final BigInteger left, final double right) {
+    return doDouble(left.doubleValue(), right);
+  }
+
+  @Specialization
+  public final double doDouble(final double left, final BigInteger right) {
+    return doDouble(left, right.doubleValue());
+  }
+
   @Specialization
   @TruffleBoundary
   public final String doString(final String left, final long right) {
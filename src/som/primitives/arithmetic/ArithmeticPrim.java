@@ -2,6 +2,7 @@ package som.primitives.arithmetic;
 
 import java.math.BigInteger;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.source.SourceSection;
 
 import som.interpreter.nodes.nary.BinaryBasicOperation;
@@ -27,4 +28,43 @@ public abstract class ArithmeticPrim extends BinaryBasicOperation {
       return result.longValue();
     }
   }
+
+  /**
+   * The results of long operations that overflow are computed as 128-bit
+   * integers, given by their high and low 64 bits. Only results that do
+   * not fit into a long are converted to a BigInteger, without converting
+   * the operands first.
+   *
+   * @return a long, or a BigInteger if the result does not fit
+   */
+  protected static final Object fromInt128(final long high, final long low) {
+    if (high == (low >> 63)) {
+      return low;
+    }
+    return bigIntegerFromInt128(high, low);
+  }
+
+  @TruffleBoundary
+  private static BigInteger bigIntegerFromInt128(final long high, final long low) {
+    byte[] bytes = new byte[16];
+    for (int i = 0; i < 8; i++) {
+      bytes[7 - i]  = (byte) (high >>> (8 * i));
+      bytes[15 - i] = (byte) (low >>> (8 * i));
+    }
+    return new BigInteger(bytes);
+  }
+
+  /** @return the high 64 bits of the 128-bit product, as Java 9's Math.multiplyHigh */
+  protected static final long multiplyHigh(final long x, final long y) {
+    long x1 = x >> 32;
+    long x2 = x & 0xFFFFFFFFL;
+    long y1 = y >> 32;
+    long y2 = y & 0xFFFFFFFFL;
+
+    long z2 = x2 * y2;
+    long t  = x1 * y2 + (z2 >>> 32);
+    long z1 = (t & 0xFFFFFFFFL) + x2 * y1;
+    long z0 = t >> 32;
+    return x1 * y1 + z0 + (z1 >> 32);
+  }
 }
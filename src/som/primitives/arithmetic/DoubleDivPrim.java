@@ -2,14 +2,11 @@ package som.primitives.arithmetic;
 
 import java.math.BigInteger;
 
-import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.source.SourceSection;
 
 import som.primitives.Primitive;
-import som.vm.NotYetImplementedException;
-import som.vmobjects.SAbstractObject;
 
 
 @GenerateNodeFactory
@@ -34,14 +31,32 @@ public abstract class DoubleDivPrim extends ArithmeticPrim {
   }
 
   @Specialization
-  public final SAbstractObject doLong(final long left, final BigInteger right) {
-    CompilerAsserts.neverPartOfCompilation("DoubleDiv100");
-    throw new NotYetImplementedException(); // TODO: need to implement the "/" case here directly... : return resendAsBigInteger("/", left, (SBigInteger) rightObj, frame.pack());
+  public final double doLong(final long left, final double right) {
+    return doDouble(left, right);
   }
 
   @Specialization
-  public final SAbstractObject doLong(final long left, final double right) {
-    CompilerAsserts.neverPartOfCompilation("DoubleDiv101");
-    throw new NotYetImplementedException(); // TODO: need to implement the "/" case here directly... : return resendAsDouble("/", left, (SDouble) rightObj, frame.pack());
+  public final double doLong(final long left, final BigInteger right) {
+    return doDouble(left, right.doubleValue());
+  }
+
+  @Specialization
+  public final double doBigInteger(final BigInteger left, final long right) {
+    return doDouble(left.doubleValue(), right);
+  }
+
+  @Specialization
+  public final double doBigInteger(final BigInteger left, final BigInteger right) {
+    return doDouble(left.doubleValue(), right.doubleValue());
+  }
+
+  @Specialization
+  public final double doBigInteger(final BigInteger left, final double right) {
+    return doDouble(left.doubleValue(), right);
+  }
+
+  @Specialization
+  public final double doDouble(final double left, final BigInteger right) {
+    return doDouble(left, right.doubleValue());
   }
 }
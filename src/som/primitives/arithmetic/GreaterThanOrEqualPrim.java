@@ -46,4 +46,14 @@ public abstract class GreaterThanOrEqualPrim extends ComparisonPrim {
   public final boolean doDouble(final double left, final long right) {
     return doDouble(left, (double) right);
   }
+
+  @Specialization
+  public final boolean doBigInteger(final BigInteger left, final double right) {
+    return doDouble(left.doubleValue(), right);
+  }
+
+  @Specialization
+  public final boolean doDouble(final double left, final BigInteger right) {
+    return doDouble(left, right.doubleValue());
+  }
 }
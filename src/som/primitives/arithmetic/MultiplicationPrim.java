@@ -23,7 +23,7 @@ public abstract class MultiplicationPrim extends ArithmeticPrim {
 
   @Specialization
   public final Object doLongWithOverflow(final long left, final long right) {
-    return BigInteger.valueOf(left).multiply(BigInteger.valueOf(right));
+    return fromInt128(multiplyHigh(left, right), left * right);
   }
 
   @Specialization
@@ -56,4 +56,14 @@ public abstract class MultiplicationPrim extends ArithmeticPrim {
   public final double doDouble(final double left, final long right) {
     return doDouble(left, (double) right);
   }
+
+  @Specialization
+  public final double doBigInteger(final BigInteger left, final double right) {
+    return doDouble(left.doubleValue(), right);
+  }
+
+  @Specialization
+  public final double doDouble(final double left, final BigInteger right) {
+    return doDouble(left, right.doubleValue());
+  }
 }
@@ -22,8 +22,10 @@ public abstract class SubtractionPrim extends ArithmeticPrim {
   }
 
   @Specialization
-  public final BigInteger doLongWithOverflow(final long left, final long right) {
-    return BigInteger.valueOf(left).subtract(BigInteger.valueOf(right));
+  public final Object doLongWithOverflow(final long left, final long right) {
+    long low = left - right;
+    long borrow = Long.compareUnsigned(left, right) < 0 ? 1 : 0;
+    return fromInt128((left >> 63) - (right >> 63) - borrow, low);
   }
 
   @Specialization
@@ -56,4 +58,14 @@ public abstract class SubtractionPrim extends ArithmeticPrim {
   public final double doDouble(final double left, final long right) {
     return doDouble(left, (double) right);
   }
+
+  @Specialization
+  public final double doBigInteger(final BigInteger left, final double right) {
+    return doDouble(left.doubleValue(), right);
+  }
+
+  @Specialization
+  public final double doDouble(final double left, final BigInteger right) {
+    return doDouble(left, right.doubleValue());
+  }
 }
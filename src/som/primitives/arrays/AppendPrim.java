@@ -0,0 +1,48 @@
+package som.primitives.arrays;
+
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.profiles.ValueProfile;
+import com.oracle.truffle.api.source.SourceSection;
+
+import som.interpreter.nodes.nary.BinaryExpressionNode;
+import som.primitives.Primitive;
+import som.vmobjects.SArray.GrowableArray;
+import som.vmobjects.SArray.SMutableArray;
+import tools.dym.Tags.ArrayWrite;
+
+
+/**
+ * Appends an element to an array, which grows the array by one.
+ * On the first append, the array transitions to the Growable strategy.
+ */
+@GenerateNodeFactory
+@Primitive("array:append:")
+public abstract class AppendPrim extends BinaryExpressionNode {
+  private final ValueProfile storageType = ValueProfile.createClassProfile();
+
+  protected AppendPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+  protected AppendPrim(final SourceSection source) { super(false, source); }
+
+  @Override
+  protected boolean isTaggedWithIgnoringEagerness(final Class<?> tag) {
+    if (tag == ArrayWrite.class) {
+      return true;
+    } else {
+      return super.isTaggedWithIgnoringEagerness(tag);
+    }
+  }
+
+  @Specialization(guards = "receiver.isGrowableType()")
+  public final Object doGrowable(final SMutableArray receiver, final Object value) {
+    receiver.getGrowableStorage(storageType).append(value);
+    return value;
+  }
+
+  @Specialization(guards = "!receiver.isGrowableType()")
+  public final Object doFixed(final SMutableArray receiver, final Object value) {
+    GrowableArray storage = receiver.transitionToGrowable();
+    storage.append(value);
+    return value;
+  }
+}
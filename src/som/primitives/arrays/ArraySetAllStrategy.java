@@ -114,7 +114,7 @@ public final class ArraySetAllStrategy {
       long[] newStorage = new long[(int) length];
       newStorage[0] = (long) result;
       evalBlockForRemaining(frame, blockNoArg, length, newStorage, blockDispatch);
-      return newStorage;
+      return SArray.compactLongStorage(newStorage);
     } else if (result instanceof Double) {
       double[] newStorage = new double[(int) length];
       newStorage[0] = (double) result;
@@ -144,7 +144,7 @@ public final class ArraySetAllStrategy {
       long[] newStorage = new long[(int) length];
       newStorage[0] = (long) result;
       evalBlockWithArgForRemaining(frame, blockWithArg, length, newStorage, blockDispatch);
-      return newStorage;
+      return SArray.compactLongStorage(newStorage);
     } else if (result instanceof Double) {
       double[] newStorage = new double[(int) length];
       newStorage[0] = (double) result;
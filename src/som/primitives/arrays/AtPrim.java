@@ -9,6 +9,7 @@ import som.interpreter.nodes.nary.BinaryBasicOperation;
 import som.primitives.Primitive;
 import som.vm.constants.Nil;
 import som.vmobjects.SArray;
+import som.vmobjects.SArray.GrowableArray;
 import tools.dym.Tags.ArrayRead;
 
 
@@ -16,6 +17,7 @@ import tools.dym.Tags.ArrayRead;
 @Primitive("array:at:")
 public abstract class AtPrim extends BinaryBasicOperation {
   private final ValueProfile storageType = ValueProfile.createClassProfile();
+  private final ValueProfile growableStorageType = ValueProfile.createClassProfile();
 
   protected AtPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
   protected AtPrim(final SourceSection source) { super(false, source); }
@@ -51,6 +53,16 @@ public abstract class AtPrim extends BinaryBasicOperation {
     return receiver.getLongStorage(storageType)[(int) idx - 1];
   }
 
+  @Specialization(guards = "receiver.isByteType()")
+  public final long doByteSArray(final SArray receiver, final long idx) {
+    return receiver.getByteStorage(storageType)[(int) idx - 1] & 0xFF;
+  }
+
+  @Specialization(guards = "receiver.isIntType()")
+  public final long doIntSArray(final SArray receiver, final long idx) {
+    return receiver.getIntStorage(storageType)[(int) idx - 1];
+  }
+
   @Specialization(guards = "receiver.isDoubleType()")
   public final double doDoubleSArray(final SArray receiver, final long idx) {
     return receiver.getDoubleStorage(storageType)[(int) idx - 1];
@@ -60,4 +72,38 @@ public abstract class AtPrim extends BinaryBasicOperation {
   public final boolean doBooleanSArray(final SArray receiver, final long idx) {
     return receiver.getBooleanStorage(storageType)[(int) idx - 1];
   }
+
+  @Specialization(guards = "receiver.isGrowableLongType()")
+  public final long doGrowableLongSArray(final SArray receiver, final long idx) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    storage.checkIndex(idx - 1);
+    return storage.getLongStorage(growableStorageType)[(int) idx - 1];
+  }
+
+  @Specialization(guards = "receiver.isGrowableDoubleType()")
+  public final double doGrowableDoubleSArray(final SArray receiver, final long idx) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    storage.checkIndex(idx - 1);
+    return storage.getDoubleStorage(growableStorageType)[(int) idx - 1];
+  }
+
+  @Specialization(guards = "receiver.isGrowableBooleanType()")
+  public final boolean doGrowableBooleanSArray(final SArray receiver, final long idx) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    storage.checkIndex(idx - 1);
+    return storage.getBooleanStorage(growableStorageType)[(int) idx - 1];
+  }
+
+  @Specialization(guards = "receiver.isGrowableObjectType()")
+  public final Object doGrowableObjectSArray(final SArray receiver, final long idx) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    storage.checkIndex(idx - 1);
+    return storage.getObjectStorage(growableStorageType)[(int) idx - 1];
+  }
+
+  /** Growable arrays without elements, which have no storage yet. */
+  @Specialization(guards = "receiver.isGrowableType()")
+  public final Object doGrowableSArray(final SArray receiver, final long idx) {
+    return receiver.getGrowableStorage(storageType).get(idx - 1);
+  }
 }
@@ -11,6 +11,8 @@ import com.oracle.truffle.api.source.SourceSection;
 import som.interpreter.nodes.nary.TernaryExpressionNode;
 import som.primitives.Primitive;
 import som.vm.constants.Nil;
+import som.vmobjects.SArray;
+import som.vmobjects.SArray.GrowableArray;
 import som.vmobjects.SArray.PartiallyEmptyArray;
 import som.vmobjects.SArray.SMutableArray;
 import tools.dym.Tags.ArrayWrite;
@@ -18,10 +20,11 @@ import tools.dym.Tags.BasicPrimitiveOperation;
 
 
 @GenerateNodeFactory
-@ImportStatic(Nil.class)
+@ImportStatic({Nil.class, SArray.class})
 @Primitive("array:at:put:")
 public abstract class AtPutPrim extends TernaryExpressionNode {
   private final ValueProfile storageType = ValueProfile.createClassProfile();
+  private final ValueProfile growableStorageType = ValueProfile.createClassProfile();
 
   protected AtPutPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
   protected AtPutPrim(final SourceSection source) { super(false, source); }
@@ -225,6 +228,60 @@ public abstract class AtPutPrim extends TernaryExpressionNode {
     return value;
   }
 
+  @Specialization(guards = {"receiver.isByteType()", "fitsInByte(value)"})
+  public final long doByteSArray(final SMutableArray receiver, final long index,
+      final long value) {
+    long idx = index - 1;
+    receiver.getByteStorage(storageType)[(int) idx] = (byte) value;
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isIntType()", "fitsInInt(value)"})
+  public final long doIntSArray(final SMutableArray receiver, final long index,
+      final long value) {
+    long idx = index - 1;
+    receiver.getIntStorage(storageType)[(int) idx] = (int) value;
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isByteType()", "!fitsInByte(value)"})
+  public final long doWidenByteSArray(final SMutableArray receiver,
+      final long index, final long value) {
+    long idx = index - 1;
+    receiver.widenIntegerStorageFor(value);
+    if (receiver.isIntType()) {
+      receiver.getIntStorage(storageType)[(int) idx] = (int) value;
+    } else {
+      receiver.getLongStorage(storageType)[(int) idx] = value;
+    }
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isIntType()", "!fitsInInt(value)"})
+  public final long doWidenIntSArray(final SMutableArray receiver,
+      final long index, final long value) {
+    long idx = index - 1;
+    receiver.widenIntegerStorageFor(value);
+    receiver.getLongStorage(storageType)[(int) idx] = value;
+    return value;
+  }
+
+  @Specialization(guards = {"receiver.isByteType() || receiver.isIntType()", "valueIsNotLong(value)"})
+  public final Object doIntegerSArray(final SMutableArray receiver,
+      final long index, final Object value) {
+    long idx = index - 1;
+
+    long[] storage = receiver.toLongStorage();
+    Object[] newStorage = new Object[storage.length];
+    for (int i = 0; i < storage.length; i++) {
+      newStorage[i] = storage[i];
+    }
+
+    receiver.transitionTo(newStorage);
+    newStorage[(int) idx] = value;
+    return value;
+  }
+
   @Specialization(guards = "receiver.isDoubleType()")
   public final Object doDoubleSArray(final SMutableArray receiver, final long index,
       final double value) {
@@ -272,4 +329,48 @@ public abstract class AtPutPrim extends TernaryExpressionNode {
     newStorage[(int) idx] = value;
     return value;
   }
+
+  @Specialization(guards = "receiver.isGrowableLongType()")
+  public final long doGrowableLongSArray(final SMutableArray receiver,
+      final long index, final long value) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    storage.checkIndex(index - 1);
+    storage.getLongStorage(growableStorageType)[(int) index - 1] = value;
+    return value;
+  }
+
+  @Specialization(guards = "receiver.isGrowableDoubleType()")
+  public final double doGrowableDoubleSArray(final SMutableArray receiver,
+      final long index, final double value) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    storage.checkIndex(index - 1);
+    storage.getDoubleStorage(growableStorageType)[(int) index - 1] = value;
+    return value;
+  }
+
+  @Specialization(guards = "receiver.isGrowableBooleanType()")
+  public final boolean doGrowableBooleanSArray(final SMutableArray receiver,
+      final long index, final boolean value) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    storage.checkIndex(index - 1);
+    storage.getBooleanStorage(growableStorageType)[(int) index - 1] = value;
+    return value;
+  }
+
+  @Specialization(guards = "receiver.isGrowableObjectType()")
+  public final Object doGrowableObjectSArray(final SMutableArray receiver,
+      final long index, final Object value) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    storage.checkIndex(index - 1);
+    storage.getObjectStorage(growableStorageType)[(int) index - 1] = value;
+    return value;
+  }
+
+  /** Stores that generalize the storage of a growable array. */
+  @Specialization(guards = "receiver.isGrowableType()")
+  public final Object doGrowableSArray(final SMutableArray receiver,
+      final long index, final Object value) {
+    receiver.getGrowableStorage(storageType).set(index - 1, value);
+    return value;
+  }
 }
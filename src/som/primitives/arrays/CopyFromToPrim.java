@@ -0,0 +1,99 @@
+package som.primitives.arrays;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.profiles.ValueProfile;
+import com.oracle.truffle.api.source.SourceSection;
+
+import som.interpreter.nodes.nary.TernaryExpressionNode;
+import som.primitives.Primitive;
+import som.vmobjects.SArray;
+import som.vmobjects.SArray.GrowableArray;
+import som.vmobjects.SArray.SMutableArray;
+
+
+/**
+ * Copies the elements from the 1-based index <code>start</code> to
+ * <code>stop</code>, inclusive, into a new array of the same storage type.
+ */
+@GenerateNodeFactory
+@Primitive("array:copyFrom:to:")
+public abstract class CopyFromToPrim extends TernaryExpressionNode {
+  public CopyFromToPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+  public CopyFromToPrim(final SourceSection source) { super(false, source); }
+
+  private final ValueProfile storageType = ValueProfile.createClassProfile();
+
+  @Specialization(guards = "receiver.isEmptyType()")
+  public final SMutableArray doEmptyArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    SArray.checkRange(start, stop, receiver.getEmptyStorage(storageType));
+    return new SMutableArray(stop - start + 1, receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isPartiallyEmptyType()")
+  public final SMutableArray doPartiallyEmptyArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    Object[] storage = receiver.getPartiallyEmptyStorage(storageType).getStorage();
+    SArray.checkRange(start, stop, storage.length);
+    return new SMutableArray(Arrays.copyOfRange(storage, (int) start - 1, (int) stop), receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isObjectType()")
+  public final SMutableArray doObjectArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    Object[] storage = receiver.getObjectStorage(storageType);
+    SArray.checkRange(start, stop, storage.length);
+    return new SMutableArray(Arrays.copyOfRange(storage, (int) start - 1, (int) stop), receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isLongType()")
+  public final SMutableArray doLongArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    long[] storage = receiver.getLongStorage(storageType);
+    SArray.checkRange(start, stop, storage.length);
+    return new SMutableArray(Arrays.copyOfRange(storage, (int) start - 1, (int) stop), receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isByteType()")
+  public final SMutableArray doByteArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    byte[] storage = receiver.getByteStorage(storageType);
+    SArray.checkRange(start, stop, storage.length);
+    return new SMutableArray(Arrays.copyOfRange(storage, (int) start - 1, (int) stop), receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isIntType()")
+  public final SMutableArray doIntArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    int[] storage = receiver.getIntStorage(storageType);
+    SArray.checkRange(start, stop, storage.length);
+    return new SMutableArray(Arrays.copyOfRange(storage, (int) start - 1, (int) stop), receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isDoubleType()")
+  public final SMutableArray doDoubleArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    double[] storage = receiver.getDoubleStorage(storageType);
+    SArray.checkRange(start, stop, storage.length);
+    return new SMutableArray(Arrays.copyOfRange(storage, (int) start - 1, (int) stop), receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isBooleanType()")
+  public final SMutableArray doBooleanArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    boolean[] storage = receiver.getBooleanStorage(storageType);
+    SArray.checkRange(start, stop, storage.length);
+    return new SMutableArray(Arrays.copyOfRange(storage, (int) start - 1, (int) stop), receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isGrowableType()")
+  public final SMutableArray doGrowableArray(final SMutableArray receiver,
+      final long start, final long stop) {
+    GrowableArray storage = receiver.getGrowableStorage(storageType);
+    SArray.checkRange(start, stop, storage.getSize());
+    return new SMutableArray(storage.copyRangeToFixedStorage((int) start - 1, (int) stop), receiver.getSOMClass());
+  }
+}
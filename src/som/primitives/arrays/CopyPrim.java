@@ -38,6 +38,18 @@ public abstract class CopyPrim extends UnaryExpressionNode {
     return new SMutableArray(receiver.getLongStorage(storageType).clone(), receiver.getSOMClass());
   }
 
+  @Specialization(guards = "receiver.isByteType()")
+  public final SMutableArray doByteArray(final SMutableArray receiver) {
+    assert !receiver.getSOMClass().isTransferObject() : "Not yet supported, need to instantiate another class";
+    return new SMutableArray(receiver.getByteStorage(storageType).clone(), receiver.getSOMClass());
+  }
+
+  @Specialization(guards = "receiver.isIntType()")
+  public final SMutableArray doIntArray(final SMutableArray receiver) {
+    assert !receiver.getSOMClass().isTransferObject() : "Not yet supported, need to instantiate another class";
+    return new SMutableArray(receiver.getIntStorage(storageType).clone(), receiver.getSOMClass());
+  }
+
   @Specialization(guards = "receiver.isDoubleType()")
   public final SMutableArray doDoubleArray(final SMutableArray receiver) {
     assert !receiver.getSOMClass().isTransferObject() : "Not yet supported, need to instantiate another class";
@@ -49,4 +61,10 @@ public abstract class CopyPrim extends UnaryExpressionNode {
     assert !receiver.getSOMClass().isTransferObject() : "Not yet supported, need to instantiate another class";
     return new SMutableArray(receiver.getBooleanStorage(storageType).clone(), receiver.getSOMClass());
   }
+
+  @Specialization(guards = "receiver.isGrowableType()")
+  public final SMutableArray doGrowableArray(final SMutableArray receiver) {
+    assert !receiver.getSOMClass().isTransferObject() : "Not yet supported, need to instantiate another class";
+    return new SMutableArray(receiver.getGrowableStorage(storageType).copyToFixedStorage(), receiver.getSOMClass());
+  }
 }
@@ -14,6 +14,7 @@ import som.interpreter.nodes.nary.BinaryComplexOperation;
 import som.interpreter.nodes.specialized.SomLoop;
 import som.vm.constants.Nil;
 import som.vmobjects.SArray;
+import som.vmobjects.SArray.GrowableArray;
 import som.vmobjects.SArray.PartiallyEmptyArray;
 import som.vmobjects.SBlock;
 
@@ -21,6 +22,7 @@ import som.vmobjects.SBlock;
 @GenerateNodeFactory
 public abstract class DoPrim extends BinaryComplexOperation {
   private final ValueProfile storageType = ValueProfile.createClassProfile();
+  private final ValueProfile growableStorageType = ValueProfile.createClassProfile();
 
   @Child private BlockDispatchNode block;
 
@@ -114,6 +116,46 @@ public abstract class DoPrim extends BinaryComplexOperation {
     return arr;
   }
 
+  @Specialization(guards = "arr.isByteType()")
+  public final SArray doByteArray(final VirtualFrame frame,
+      final SArray arr, final SBlock block) {
+    byte[] storage = arr.getByteStorage(storageType);
+    int length = storage.length;
+    try {
+      if (SArray.FIRST_IDX < length) {
+        execBlock(frame, block, (long) (storage[SArray.FIRST_IDX] & 0xFF));
+      }
+      for (long i = SArray.FIRST_IDX + 1; i < length; i++) {
+        execBlock(frame, block, (long) (storage[(int) i] & 0xFF));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        SomLoop.reportLoopCount(length, this);
+      }
+    }
+    return arr;
+  }
+
+  @Specialization(guards = "arr.isIntType()")
+  public final SArray doIntArray(final VirtualFrame frame,
+      final SArray arr, final SBlock block) {
+    int[] storage = arr.getIntStorage(storageType);
+    int length = storage.length;
+    try {
+      if (SArray.FIRST_IDX < length) {
+        execBlock(frame, block, (long) storage[SArray.FIRST_IDX]);
+      }
+      for (long i = SArray.FIRST_IDX + 1; i < length; i++) {
+        execBlock(frame, block, (long) storage[(int) i]);
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        SomLoop.reportLoopCount(length, this);
+      }
+    }
+    return arr;
+  }
+
   @Specialization(guards = "arr.isDoubleType()")
   public final SArray doDoubleArray(final VirtualFrame frame,
       final SArray arr, final SBlock block) {
@@ -154,6 +196,143 @@ public abstract class DoPrim extends BinaryComplexOperation {
     return arr;
   }
 
+  /**
+   * Read an element of a growable array from its typed storage. The block
+   * might store a value of another type, which generalizes the storage,
+   * and the remaining elements are then read boxed.
+   */
+  private Object growableLongAt(final GrowableArray storage, final int idx) {
+    if (storage.isLongType()) {
+      return storage.getLongStorage(growableStorageType)[idx];
+    }
+    return storage.get(idx);
+  }
+
+  private Object growableDoubleAt(final GrowableArray storage, final int idx) {
+    if (storage.isDoubleType()) {
+      return storage.getDoubleStorage(growableStorageType)[idx];
+    }
+    return storage.get(idx);
+  }
+
+  private Object growableBooleanAt(final GrowableArray storage, final int idx) {
+    if (storage.isBooleanType()) {
+      return storage.getBooleanStorage(growableStorageType)[idx];
+    }
+    return storage.get(idx);
+  }
+
+  private Object growableObjectAt(final GrowableArray storage, final int idx) {
+    // Object[] storage is never narrowed again
+    return storage.getObjectStorage(growableStorageType)[idx];
+  }
+
+  @Specialization(guards = "arr.isGrowableLongType()")
+  public final SArray doGrowableLongArray(final VirtualFrame frame,
+      final SArray arr, final SBlock block) {
+    GrowableArray storage = arr.getGrowableStorage(storageType);
+    int length = storage.getSize();
+    try {
+      if (SArray.FIRST_IDX < length) {
+        execBlock(frame, block, growableLongAt(storage, SArray.FIRST_IDX));
+      }
+      // the block might append or remove elements, so re-read the size
+      for (long i = SArray.FIRST_IDX + 1; i < storage.getSize(); i++) {
+        execBlock(frame, block, growableLongAt(storage, (int) i));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        SomLoop.reportLoopCount(length, this);
+      }
+    }
+    return arr;
+  }
+
+  @Specialization(guards = "arr.isGrowableDoubleType()")
+  public final SArray doGrowableDoubleArray(final VirtualFrame frame,
+      final SArray arr, final SBlock block) {
+    GrowableArray storage = arr.getGrowableStorage(storageType);
+    int length = storage.getSize();
+    try {
+      if (SArray.FIRST_IDX < length) {
+        execBlock(frame, block, growableDoubleAt(storage, SArray.FIRST_IDX));
+      }
+      // the block might append or remove elements, so re-read the size
+      for (long i = SArray.FIRST_IDX + 1; i < storage.getSize(); i++) {
+        execBlock(frame, block, growableDoubleAt(storage, (int) i));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        SomLoop.reportLoopCount(length, this);
+      }
+    }
+    return arr;
+  }
+
+  @Specialization(guards = "arr.isGrowableBooleanType()")
+  public final SArray doGrowableBooleanArray(final VirtualFrame frame,
+      final SArray arr, final SBlock block) {
+    GrowableArray storage = arr.getGrowableStorage(storageType);
+    int length = storage.getSize();
+    try {
+      if (SArray.FIRST_IDX < length) {
+        execBlock(frame, block, growableBooleanAt(storage, SArray.FIRST_IDX));
+      }
+      // the block might append or remove elements, so re-read the size
+      for (long i = SArray.FIRST_IDX + 1; i < storage.getSize(); i++) {
+        execBlock(frame, block, growableBooleanAt(storage, (int) i));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        SomLoop.reportLoopCount(length, this);
+      }
+    }
+    return arr;
+  }
+
+  @Specialization(guards = "arr.isGrowableObjectType()")
+  public final SArray doGrowableObjectArray(final VirtualFrame frame,
+      final SArray arr, final SBlock block) {
+    GrowableArray storage = arr.getGrowableStorage(storageType);
+    int length = storage.getSize();
+    try {
+      if (SArray.FIRST_IDX < length) {
+        execBlock(frame, block, growableObjectAt(storage, SArray.FIRST_IDX));
+      }
+      // the block might append or remove elements, so re-read the size
+      for (long i = SArray.FIRST_IDX + 1; i < storage.getSize(); i++) {
+        execBlock(frame, block, growableObjectAt(storage, (int) i));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        SomLoop.reportLoopCount(length, this);
+      }
+    }
+    return arr;
+  }
+
+  /** Growable arrays without elements, which have no storage yet. */
+  @Specialization(guards = "arr.isGrowableType()")
+  public final SArray doGrowableArray(final VirtualFrame frame,
+      final SArray arr, final SBlock block) {
+    GrowableArray storage = arr.getGrowableStorage(storageType);
+    int length = storage.getSize();
+    try {
+      if (SArray.FIRST_IDX < length) {
+        execBlock(frame, block, storage.get(SArray.FIRST_IDX));
+      }
+      // the block might append or remove elements, so re-read the size
+      for (long i = SArray.FIRST_IDX + 1; i < storage.getSize(); i++) {
+        execBlock(frame, block, storage.get(i));
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter()) {
+        SomLoop.reportLoopCount(length, this);
+      }
+    }
+    return arr;
+  }
+
   @Override
   public boolean isResultUsed(final ExpressionNode child) {
     return false;
@@ -0,0 +1,680 @@
+package som.primitives.arrays;
+
+import java.math.BigInteger;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.ExactMath;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ValueProfile;
+import com.oracle.truffle.api.source.SourceSection;
+
+import som.interpreter.nodes.MessageSendNode;
+import som.interpreter.nodes.MessageSendNode.AbstractMessageSendNode;
+import som.interpreter.nodes.dispatch.BlockDispatchNode;
+import som.interpreter.nodes.dispatch.BlockDispatchNodeGen;
+import som.interpreter.nodes.nary.BinaryExpressionNode;
+import som.interpreter.nodes.nary.TernaryExpressionNode;
+import som.interpreter.nodes.nary.UnaryExpressionNode;
+import som.interpreter.nodes.specialized.SomLoop;
+import som.primitives.Primitive;
+import som.vm.Symbols;
+import som.vm.constants.Nil;
+import som.vmobjects.SArray;
+import som.vmobjects.SBlock;
+
+
+/**
+ * Reductions over arrays with numeric storage, which avoid a block
+ * activation per element.
+ *
+ * <p>The loops over byte[], int[], and double[] storage have no exits or
+ * overflow checks, so that the compiler can unroll and vectorize them.
+ * Sums of bytes and ints can not overflow a long for any array length.
+ * Sums and products of longs are checked, and continue with large
+ * integers on overflow.
+ *
+ * <p>All other storage strategies are boxed first. Their numbers are
+ * combined directly, and any other element is sent <code>+</code>,
+ * <code>*</code>, or <code>&lt;</code>, so that it either implements the
+ * operation or raises the usual error.
+ */
+public abstract class ReductionPrims {
+
+  public static Object sum(final long[] storage) {
+    try {
+      long sum = 0;
+      for (int i = 0; i < storage.length; i++) {
+        sum = ExactMath.addExact(sum, storage[i]);
+      }
+      return sum;
+    } catch (ArithmeticException e) {
+      return sumWithOverflow(storage);
+    }
+  }
+
+  public static long sum(final byte[] storage) {
+    long sum = 0;
+    for (int i = 0; i < storage.length; i++) {
+      sum += storage[i] & 0xFF;
+    }
+    return sum;
+  }
+
+  public static long sum(final int[] storage) {
+    long sum = 0;
+    for (int i = 0; i < storage.length; i++) {
+      sum += storage[i];
+    }
+    return sum;
+  }
+
+  public static double sum(final double[] storage) {
+    double sum = 0.0;
+    for (int i = 0; i < storage.length; i++) {
+      sum += storage[i];
+    }
+    return sum;
+  }
+
+  public static Object min(final long[] storage) {
+    if (storage.length == 0) {
+      return Nil.nilObject;
+    }
+    long min = storage[0];
+    for (int i = 1; i < storage.length; i++) {
+      min = Math.min(min, storage[i]);
+    }
+    return min;
+  }
+
+  public static Object min(final byte[] storage) {
+    if (storage.length == 0) {
+      return Nil.nilObject;
+    }
+    int min = storage[0] & 0xFF;
+    for (int i = 1; i < storage.length; i++) {
+      min = Math.min(min, storage[i] & 0xFF);
+    }
+    return (long) min;
+  }
+
+  public static Object min(final int[] storage) {
+    if (storage.length == 0) {
+      return Nil.nilObject;
+    }
+    int min = storage[0];
+    for (int i = 1; i < storage.length; i++) {
+      min = Math.min(min, storage[i]);
+    }
+    return (long) min;
+  }
+
+  public static Object min(final double[] storage) {
+    if (storage.length == 0) {
+      return Nil.nilObject;
+    }
+    double min = storage[0];
+    for (int i = 1; i < storage.length; i++) {
+      min = Math.min(min, storage[i]);
+    }
+    return min;
+  }
+
+  public static Object max(final long[] storage) {
+    if (storage.length == 0) {
+      return Nil.nilObject;
+    }
+    long max = storage[0];
+    for (int i = 1; i < storage.length; i++) {
+      max = Math.max(max, storage[i]);
+    }
+    return max;
+  }
+
+  public static Object max(final byte[] storage) {
+    if (storage.length == 0) {
+      return Nil.nilObject;
+    }
+    int max = storage[0] & 0xFF;
+    for (int i = 1; i < storage.length; i++) {
+      max = Math.max(max, storage[i] & 0xFF);
+    }
+    return (long) max;
+  }
+
+  public static Object max(final int[] storage) {
+    if (storage.length == 0) {
+      return Nil.nilObject;
+    }
+    int max = storage[0];
+    for (int i = 1; i < storage.length; i++) {
+      max = Math.max(max, storage[i]);
+    }
+    return (long) max;
+  }
+
+  public static Object max(final double[] storage) {
+    if (storage.length == 0) {
+      return Nil.nilObject;
+    }
+    double max = storage[0];
+    for (int i = 1; i < storage.length; i++) {
+      max = Math.max(max, storage[i]);
+    }
+    return max;
+  }
+
+  public static long dot(final byte[] left, final byte[] right) {
+    checkSameLength(left.length, right.length);
+    // a product is at most 255 * 255, so the sum can not overflow
+    long sum = 0;
+    for (int i = 0; i < left.length; i++) {
+      sum += (left[i] & 0xFF) * (right[i] & 0xFF);
+    }
+    return sum;
+  }
+
+  public static double dot(final double[] left, final double[] right) {
+    checkSameLength(left.length, right.length);
+    double sum = 0.0;
+    for (int i = 0; i < left.length; i++) {
+      sum += left[i] * right[i];
+    }
+    return sum;
+  }
+
+  /**
+   * Dot product of two long[], byte[], or int[] storages, in any
+   * combination.
+   */
+  public static Object dotIntegers(final Object left, final Object right) {
+    int length = integerStorageLength(left);
+    checkSameLength(length, integerStorageLength(right));
+    try {
+      long sum = 0;
+      for (int i = 0; i < length; i++) {
+        sum = ExactMath.addExact(sum,
+            ExactMath.multiplyExact(longAt(left, i), longAt(right, i)));
+      }
+      return sum;
+    } catch (ArithmeticException e) {
+      return dotWithOverflow(left, right, length);
+    }
+  }
+
+  private static int integerStorageLength(final Object storage) {
+    if (storage instanceof long[]) {
+      return ((long[]) storage).length;
+    } else if (storage instanceof byte[]) {
+      return ((byte[]) storage).length;
+    } else {
+      return ((int[]) storage).length;
+    }
+  }
+
+  private static long longAt(final Object storage, final int i) {
+    if (storage instanceof long[]) {
+      return ((long[]) storage)[i];
+    } else if (storage instanceof byte[]) {
+      return ((byte[]) storage)[i] & 0xFF;
+    } else {
+      return ((int[]) storage)[i];
+    }
+  }
+
+  private static void checkSameLength(final int length, final int otherLength) {
+    if (length != otherLength) {
+      CompilerDirectives.transferToInterpreter();
+      throw new IllegalArgumentException("Arrays of size " + length + " and "
+          + otherLength + " have no dot product");
+    }
+  }
+
+  @TruffleBoundary
+  private static Object sumWithOverflow(final long[] storage) {
+    BigInteger sum = BigInteger.ZERO;
+    for (long l : storage) {
+      sum = sum.add(BigInteger.valueOf(l));
+    }
+    return sum;
+  }
+
+  @TruffleBoundary
+  private static Object dotWithOverflow(final Object left, final Object right,
+      final int length) {
+    BigInteger sum = BigInteger.ZERO;
+    for (int i = 0; i < length; i++) {
+      sum = sum.add(BigInteger.valueOf(longAt(left, i)).multiply(
+          BigInteger.valueOf(longAt(right, i))));
+    }
+    return reduceToLongIfPossible(sum);
+  }
+
+  private static Object reduceToLongIfPossible(final BigInteger result) {
+    if (result.bitLength() > Long.SIZE - 1) {
+      return result;
+    } else {
+      return result.longValue();
+    }
+  }
+
+  private static boolean isInteger(final Object obj) {
+    return obj instanceof Long || obj instanceof BigInteger;
+  }
+
+  private static boolean isNumber(final Object obj) {
+    return isInteger(obj) || obj instanceof Double;
+  }
+
+  private static BigInteger toBigInteger(final Object integer) {
+    if (integer instanceof Long) {
+      return BigInteger.valueOf((long) integer);
+    }
+    return (BigInteger) integer;
+  }
+
+  /**
+   * @return the sum of two boxed numbers, or null if one of them is not a
+   *         number
+   */
+  @TruffleBoundary
+  public static Object add(final Object left, final Object right) {
+    if (left instanceof Long && right instanceof Long) {
+      try {
+        return ExactMath.addExact((long) left, (long) right);
+      } catch (ArithmeticException e) {
+        return BigInteger.valueOf((long) left).add(BigInteger.valueOf((long) right));
+      }
+    } else if (isInteger(left) && isInteger(right)) {
+      return reduceToLongIfPossible(toBigInteger(left).add(toBigInteger(right)));
+    } else if (isNumber(left) && isNumber(right)) {
+      return ((Number) left).doubleValue() + ((Number) right).doubleValue();
+    }
+    return null;
+  }
+
+  /**
+   * @return the product of two boxed numbers, or null if one of them is
+   *         not a number
+   */
+  @TruffleBoundary
+  public static Object multiply(final Object left, final Object right) {
+    if (left instanceof Long && right instanceof Long) {
+      try {
+        return ExactMath.multiplyExact((long) left, (long) right);
+      } catch (ArithmeticException e) {
+        return BigInteger.valueOf((long) left).multiply(BigInteger.valueOf((long) right));
+      }
+    } else if (isInteger(left) && isInteger(right)) {
+      return reduceToLongIfPossible(toBigInteger(left).multiply(toBigInteger(right)));
+    } else if (isNumber(left) && isNumber(right)) {
+      return ((Number) left).doubleValue() * ((Number) right).doubleValue();
+    }
+    return null;
+  }
+
+  /**
+   * @return whether the left number is less than the right one, or null if
+   *         one of them is not a number
+   */
+  @TruffleBoundary
+  public static Boolean lessThan(final Object left, final Object right) {
+    if (isInteger(left) && isInteger(right)) {
+      return toBigInteger(left).compareTo(toBigInteger(right)) < 0;
+    } else if (isNumber(left) && isNumber(right)) {
+      return ((Number) left).doubleValue() < ((Number) right).doubleValue();
+    }
+    return null;
+  }
+
+  private static AbstractMessageSendNode createSend(final String selector,
+      final SourceSection source) {
+    return MessageSendNode.createForPerformNodes(Symbols.symbolFor(selector), source);
+  }
+
+  private static Object addOrSend(final VirtualFrame frame,
+      final AbstractMessageSendNode plus, final Object left, final Object right) {
+    Object result = add(left, right);
+    if (result == null) {
+      result = plus.doPreEvaluated(frame, new Object[] {left, right});
+    }
+    return result;
+  }
+
+  private static boolean lessThanOrSend(final VirtualFrame frame,
+      final AbstractMessageSendNode lessThan, final Object left, final Object right) {
+    Boolean result = lessThan(left, right);
+    if (result == null) {
+      return lessThan.doPreEvaluated(frame, new Object[] {left, right}) == Boolean.TRUE;
+    }
+    return result;
+  }
+
+  @GenerateNodeFactory
+  @Primitive("arraySum:")
+  public abstract static class SumPrim extends UnaryExpressionNode {
+    private final ValueProfile storageType = ValueProfile.createClassProfile();
+
+    public SumPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+    public SumPrim(final SourceSection source) { super(false, source); }
+
+    protected final AbstractMessageSendNode createPlus() {
+      return createSend("+", getSourceSection());
+    }
+
+    @Specialization(guards = "receiver.isLongType()")
+    public final Object doLongArray(final SArray receiver) {
+      return sum(receiver.getLongStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isByteType()")
+    public final long doByteArray(final SArray receiver) {
+      return sum(receiver.getByteStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isIntType()")
+    public final long doIntArray(final SArray receiver) {
+      return sum(receiver.getIntStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isDoubleType()")
+    public final double doDoubleArray(final SArray receiver) {
+      return sum(receiver.getDoubleStorage(storageType));
+    }
+
+    /** The sum of an empty array is 0, otherwise it starts with the first element. */
+    @Specialization(guards = {"!receiver.isSomeIntegerType()", "!receiver.isDoubleType()"})
+    public final Object doOtherArray(final VirtualFrame frame, final SArray receiver,
+        @Cached("createPlus()") final AbstractMessageSendNode plus) {
+      Object[] elements = receiver.toBoxedArray();
+      if (elements.length == 0) {
+        return (long) 0;
+      }
+      Object sum = elements[0];
+      for (int i = 1; i < elements.length; i++) {
+        sum = addOrSend(frame, plus, sum, elements[i]);
+      }
+      return sum;
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("arrayMin:")
+  public abstract static class MinPrim extends UnaryExpressionNode {
+    private final ValueProfile storageType = ValueProfile.createClassProfile();
+
+    public MinPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+    public MinPrim(final SourceSection source) { super(false, source); }
+
+    protected final AbstractMessageSendNode createLessThan() {
+      return createSend("<", getSourceSection());
+    }
+
+    @Specialization(guards = "receiver.isLongType()")
+    public final Object doLongArray(final SArray receiver) {
+      return min(receiver.getLongStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isByteType()")
+    public final Object doByteArray(final SArray receiver) {
+      return min(receiver.getByteStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isIntType()")
+    public final Object doIntArray(final SArray receiver) {
+      return min(receiver.getIntStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isDoubleType()")
+    public final Object doDoubleArray(final SArray receiver) {
+      return min(receiver.getDoubleStorage(storageType));
+    }
+
+    @Specialization(guards = {"!receiver.isSomeIntegerType()", "!receiver.isDoubleType()"})
+    public final Object doOtherArray(final VirtualFrame frame, final SArray receiver,
+        @Cached("createLessThan()") final AbstractMessageSendNode lessThan) {
+      Object[] elements = receiver.toBoxedArray();
+      if (elements.length == 0) {
+        return Nil.nilObject;
+      }
+      Object min = elements[0];
+      for (int i = 1; i < elements.length; i++) {
+        if (lessThanOrSend(frame, lessThan, elements[i], min)) {
+          min = elements[i];
+        }
+      }
+      return min;
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("arrayMax:")
+  public abstract static class MaxPrim extends UnaryExpressionNode {
+    private final ValueProfile storageType = ValueProfile.createClassProfile();
+
+    public MaxPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+    public MaxPrim(final SourceSection source) { super(false, source); }
+
+    protected final AbstractMessageSendNode createLessThan() {
+      return createSend("<", getSourceSection());
+    }
+
+    @Specialization(guards = "receiver.isLongType()")
+    public final Object doLongArray(final SArray receiver) {
+      return max(receiver.getLongStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isByteType()")
+    public final Object doByteArray(final SArray receiver) {
+      return max(receiver.getByteStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isIntType()")
+    public final Object doIntArray(final SArray receiver) {
+      return max(receiver.getIntStorage(storageType));
+    }
+
+    @Specialization(guards = "receiver.isDoubleType()")
+    public final Object doDoubleArray(final SArray receiver) {
+      return max(receiver.getDoubleStorage(storageType));
+    }
+
+    @Specialization(guards = {"!receiver.isSomeIntegerType()", "!receiver.isDoubleType()"})
+    public final Object doOtherArray(final VirtualFrame frame, final SArray receiver,
+        @Cached("createLessThan()") final AbstractMessageSendNode lessThan) {
+      Object[] elements = receiver.toBoxedArray();
+      if (elements.length == 0) {
+        return Nil.nilObject;
+      }
+      Object max = elements[0];
+      for (int i = 1; i < elements.length; i++) {
+        if (lessThanOrSend(frame, lessThan, max, elements[i])) {
+          max = elements[i];
+        }
+      }
+      return max;
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("array:dot:")
+  public abstract static class DotPrim extends BinaryExpressionNode {
+    private final ValueProfile storageType = ValueProfile.createClassProfile();
+    private final ValueProfile otherStorageType = ValueProfile.createClassProfile();
+
+    public DotPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+    public DotPrim(final SourceSection source) { super(false, source); }
+
+    protected final AbstractMessageSendNode createPlus() {
+      return createSend("+", getSourceSection());
+    }
+
+    protected final AbstractMessageSendNode createTimes() {
+      return createSend("*", getSourceSection());
+    }
+
+    protected static final boolean areNumeric(final SArray receiver, final SArray other) {
+      return (receiver.isSomeIntegerType() && other.isSomeIntegerType())
+          || (receiver.isDoubleType() && other.isDoubleType());
+    }
+
+    @Specialization(guards = {"receiver.isByteType()", "other.isByteType()"})
+    public final long doByteArrays(final SArray receiver, final SArray other) {
+      return dot(receiver.getByteStorage(storageType),
+          other.getByteStorage(otherStorageType));
+    }
+
+    /** Covers long[], int[], and mixed widths, which are checked for overflow. */
+    @Specialization(guards = {"receiver.isSomeIntegerType()", "other.isSomeIntegerType()"})
+    public final Object doIntegerArrays(final SArray receiver, final SArray other) {
+      return dotIntegers(receiver.getSomeIntegerStorage(storageType),
+          other.getSomeIntegerStorage(otherStorageType));
+    }
+
+    @Specialization(guards = {"receiver.isDoubleType()", "other.isDoubleType()"})
+    public final double doDoubleArrays(final SArray receiver, final SArray other) {
+      return dot(receiver.getDoubleStorage(storageType),
+          other.getDoubleStorage(otherStorageType));
+    }
+
+    @Specialization(guards = "!areNumeric(receiver, other)")
+    public final Object doOtherArrays(final VirtualFrame frame,
+        final SArray receiver, final SArray other,
+        @Cached("createPlus()") final AbstractMessageSendNode plus,
+        @Cached("createTimes()") final AbstractMessageSendNode times) {
+      Object[] left  = receiver.toBoxedArray();
+      Object[] right = other.toBoxedArray();
+      checkSameLength(left.length, right.length);
+      Object sum = (long) 0;
+      for (int i = 0; i < left.length; i++) {
+        Object product = multiply(left[i], right[i]);
+        if (product == null) {
+          product = times.doPreEvaluated(frame, new Object[] {left[i], right[i]});
+        }
+        sum = addOrSend(frame, plus, sum, product);
+      }
+      return sum;
+    }
+  }
+
+  @GenerateNodeFactory
+  @Primitive("array:inject:into:")
+  public abstract static class InjectIntoPrim extends TernaryExpressionNode {
+    private final ValueProfile storageType = ValueProfile.createClassProfile();
+
+    @Child private BlockDispatchNode block;
+
+    public InjectIntoPrim(final boolean eagWrap, final SourceSection source) {
+      super(eagWrap, source);
+      block = BlockDispatchNodeGen.create();
+    }
+    public InjectIntoPrim(final SourceSection source) { this(false, source); }
+
+    private Object execBlock(final VirtualFrame frame, final SBlock block,
+        final Object acc, final Object element) {
+      return this.block.executeDispatch(frame, new Object[] {block, acc, element});
+    }
+
+    private void reportLoopCount(final int length) {
+      if (CompilerDirectives.inInterpreter()) {
+        SomLoop.reportLoopCount(length, this);
+      }
+    }
+
+    @Specialization(guards = "receiver.isObjectType()")
+    public final Object doObjectArray(final VirtualFrame frame,
+        final SArray receiver, final Object initial, final SBlock block) {
+      Object[] storage = receiver.getObjectStorage(storageType);
+      Object acc = initial;
+      try {
+        for (int i = 0; i < storage.length; i++) {
+          acc = execBlock(frame, block, acc, storage[i]);
+        }
+      } finally {
+        reportLoopCount(storage.length);
+      }
+      return acc;
+    }
+
+    @Specialization(guards = "receiver.isLongType()")
+    public final Object doLongArray(final VirtualFrame frame,
+        final SArray receiver, final Object initial, final SBlock block) {
+      long[] storage = receiver.getLongStorage(storageType);
+      Object acc = initial;
+      try {
+        for (int i = 0; i < storage.length; i++) {
+          acc = execBlock(frame, block, acc, storage[i]);
+        }
+      } finally {
+        reportLoopCount(storage.length);
+      }
+      return acc;
+    }
+
+    @Specialization(guards = "receiver.isByteType()")
+    public final Object doByteArray(final VirtualFrame frame,
+        final SArray receiver, final Object initial, final SBlock block) {
+      byte[] storage = receiver.getByteStorage(storageType);
+      Object acc = initial;
+      try {
+        for (int i = 0; i < storage.length; i++) {
+          acc = execBlock(frame, block, acc, (long) (storage[i] & 0xFF));
+        }
+      } finally {
+        reportLoopCount(storage.length);
+      }
+      return acc;
+    }
+
+    @Specialization(guards = "receiver.isIntType()")
+    public final Object doIntArray(final VirtualFrame frame,
+        final SArray receiver, final Object initial, final SBlock block) {
+      int[] storage = receiver.getIntStorage(storageType);
+      Object acc = initial;
+      try {
+        for (int i = 0; i < storage.length; i++) {
+          acc = execBlock(frame, block, acc, (long) storage[i]);
+        }
+      } finally {
+        reportLoopCount(storage.length);
+      }
+      return acc;
+    }
+
+    @Specialization(guards = "receiver.isDoubleType()")
+    public final Object doDoubleArray(final VirtualFrame frame,
+        final SArray receiver, final Object initial, final SBlock block) {
+      double[] storage = receiver.getDoubleStorage(storageType);
+      Object acc = initial;
+      try {
+        for (int i = 0; i < storage.length; i++) {
+          acc = execBlock(frame, block, acc, storage[i]);
+        }
+      } finally {
+        reportLoopCount(storage.length);
+      }
+      return acc;
+    }
+
+    /** Other strategies are rare for reductions, and are boxed first. */
+    @Specialization(guards = {"!receiver.isObjectType()",
+        "receiver.isBooleanType() || !receiver.isSomePrimitiveType()"})
+    public final Object doOtherArray(final VirtualFrame frame,
+        final SArray receiver, final Object initial, final SBlock block) {
+      Object[] elements = receiver.toBoxedArray();
+      Object acc = initial;
+      try {
+        for (int i = 0; i < elements.length; i++) {
+          acc = execBlock(frame, block, acc, elements[i]);
+        }
+      } finally {
+        reportLoopCount(elements.length);
+      }
+      return acc;
+    }
+  }
+}
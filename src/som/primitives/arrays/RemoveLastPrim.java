@@ -0,0 +1,44 @@
+package som.primitives.arrays;
+
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.profiles.ValueProfile;
+import com.oracle.truffle.api.source.SourceSection;
+
+import som.interpreter.nodes.nary.UnaryExpressionNode;
+import som.primitives.Primitive;
+import som.vmobjects.SArray.SMutableArray;
+import tools.dym.Tags.ArrayWrite;
+
+
+/**
+ * Removes the last element of an array, which shrinks the array by one.
+ * The array transitions to the Growable strategy, if necessary.
+ */
+@GenerateNodeFactory
+@Primitive("arrayRemoveLast:")
+public abstract class RemoveLastPrim extends UnaryExpressionNode {
+  private final ValueProfile storageType = ValueProfile.createClassProfile();
+
+  protected RemoveLastPrim(final boolean eagWrap, final SourceSection source) { super(eagWrap, source); }
+  protected RemoveLastPrim(final SourceSection source) { super(false, source); }
+
+  @Override
+  protected boolean isTaggedWithIgnoringEagerness(final Class<?> tag) {
+    if (tag == ArrayWrite.class) {
+      return true;
+    } else {
+      return super.isTaggedWithIgnoringEagerness(tag);
+    }
+  }
+
+  @Specialization(guards = "receiver.isGrowableType()")
+  public final Object doGrowable(final SMutableArray receiver) {
+    return receiver.getGrowableStorage(storageType).removeLast();
+  }
+
+  @Specialization(guards = "!receiver.isGrowableType()")
+  public final Object doFixed(final SMutableArray receiver) {
+    return receiver.transitionToGrowable().removeLast();
+  }
+}
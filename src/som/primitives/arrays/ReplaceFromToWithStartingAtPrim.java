@@ -0,0 +1,176 @@
+package som.primitives.arrays;
+
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.profiles.ValueProfile;
+import com.oracle.truffle.api.source.SourceSection;
+
+import som.interpreter.nodes.nary.QuinaryExpressionNode;
+import som.primitives.Primitive;
+import som.vmobjects.SArray;
+import som.vmobjects.SArray.GrowableArray;
+import som.vmobjects.SArray.SMutableArray;
+import tools.dym.Tags.ArrayWrite;
+
+
+/**
+ * Replaces the elements from the 1-based index <code>start</code> to
+ * <code>stop</code>, inclusive, with the elements of <code>other</code>,
+ * beginning at <code>repStart</code>.
+ *
+ * <p>If both arrays have the same storage type, the elements are copied
+ * with {@link System#arraycopy}. Otherwise, the receiver changes its
+ * strategy once, before all elements are copied.
+ */
+@GenerateNodeFactory
+@Primitive("array:replaceFrom:to:with:startingAt:")
+public abstract class ReplaceFromToWithStartingAtPrim extends QuinaryExpressionNode {
+  private final ValueProfile storageType = ValueProfile.createClassProfile();
+  private final ValueProfile otherStorageType = ValueProfile.createClassProfile();
+
+  public ReplaceFromToWithStartingAtPrim(final SourceSection source) { super(source); }
+
+  @Override
+  protected boolean isTaggedWith(final Class<?> tag) {
+    if (tag == ArrayWrite.class) {
+      return true;
+    } else {
+      return super.isTaggedWith(tag);
+    }
+  }
+
+  private static int checkRanges(final long start, final long stop,
+      final int length, final long repStart, final int otherLength) {
+    SArray.checkRange(start, stop, length);
+    long count = stop - start + 1;
+    SArray.checkRange(repStart, repStart + count - 1, otherLength);
+    return (int) count;
+  }
+
+  @Specialization(guards = {"receiver.isObjectType()", "other.isObjectType()"})
+  public final SMutableArray doObjectArray(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    Object[] dest = receiver.getObjectStorage(storageType);
+    Object[] src  = other.getObjectStorage(otherStorageType);
+    int count = checkRanges(start, stop, dest.length, repStart, src.length);
+    System.arraycopy(src, (int) repStart - 1, dest, (int) start - 1, count);
+    return receiver;
+  }
+
+  @Specialization(guards = {"receiver.isLongType()", "other.isLongType()"})
+  public final SMutableArray doLongArray(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    long[] dest = receiver.getLongStorage(storageType);
+    long[] src  = other.getLongStorage(otherStorageType);
+    int count = checkRanges(start, stop, dest.length, repStart, src.length);
+    System.arraycopy(src, (int) repStart - 1, dest, (int) start - 1, count);
+    return receiver;
+  }
+
+  @Specialization(guards = {"receiver.isByteType()", "other.isByteType()"})
+  public final SMutableArray doByteArray(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    byte[] dest = receiver.getByteStorage(storageType);
+    byte[] src  = other.getByteStorage(otherStorageType);
+    int count = checkRanges(start, stop, dest.length, repStart, src.length);
+    System.arraycopy(src, (int) repStart - 1, dest, (int) start - 1, count);
+    return receiver;
+  }
+
+  @Specialization(guards = {"receiver.isIntType()", "other.isIntType()"})
+  public final SMutableArray doIntArray(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    int[] dest = receiver.getIntStorage(storageType);
+    int[] src  = other.getIntStorage(otherStorageType);
+    int count = checkRanges(start, stop, dest.length, repStart, src.length);
+    System.arraycopy(src, (int) repStart - 1, dest, (int) start - 1, count);
+    return receiver;
+  }
+
+  @Specialization(guards = {"receiver.isDoubleType()", "other.isDoubleType()"})
+  public final SMutableArray doDoubleArray(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    double[] dest = receiver.getDoubleStorage(storageType);
+    double[] src  = other.getDoubleStorage(otherStorageType);
+    int count = checkRanges(start, stop, dest.length, repStart, src.length);
+    System.arraycopy(src, (int) repStart - 1, dest, (int) start - 1, count);
+    return receiver;
+  }
+
+  @Specialization(guards = {"receiver.isBooleanType()", "other.isBooleanType()"})
+  public final SMutableArray doBooleanArray(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    boolean[] dest = receiver.getBooleanStorage(storageType);
+    boolean[] src  = other.getBooleanStorage(otherStorageType);
+    int count = checkRanges(start, stop, dest.length, repStart, src.length);
+    System.arraycopy(src, (int) repStart - 1, dest, (int) start - 1, count);
+    return receiver;
+  }
+
+  protected static final boolean isIntegerType(final SArray arr) {
+    return arr.isLongType() || arr.isByteType() || arr.isIntType();
+  }
+
+  /**
+   * Integers of different widths are copied into long[] storage, which is
+   * only a widening of the receiver when it does not hold longs already.
+   */
+  @Specialization(guards = {"isIntegerType(receiver)", "isIntegerType(other)"})
+  public final SMutableArray doIntegerArrays(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    long[] dest;
+    if (receiver.isLongType()) {
+      dest = receiver.getLongStorage(storageType);
+    } else {
+      dest = receiver.toLongStorage();
+    }
+
+    Object src = other.isLongType() ? other.getLongStorage(otherStorageType)
+        : other.isByteType() ? other.getByteStorage(otherStorageType)
+        : other.getIntStorage(otherStorageType);
+    int srcLength = src instanceof long[] ? ((long[]) src).length
+        : src instanceof byte[] ? ((byte[]) src).length : ((int[]) src).length;
+    int count = checkRanges(start, stop, dest.length, repStart, srcLength);
+
+    int destIdx = (int) start - 1;
+    int srcIdx  = (int) repStart - 1;
+    if (src instanceof long[]) {
+      System.arraycopy(src, srcIdx, dest, destIdx, count);
+    } else if (src instanceof byte[]) {
+      byte[] s = (byte[]) src;
+      for (int i = 0; i < count; i++) {
+        dest[destIdx + i] = s[srcIdx + i] & 0xFF;
+      }
+    } else {
+      int[] s = (int[]) src;
+      for (int i = 0; i < count; i++) {
+        dest[destIdx + i] = s[srcIdx + i];
+      }
+    }
+    receiver.transitionTo(dest);
+    return receiver;
+  }
+
+  @Specialization(guards = "receiver.isGrowableType()")
+  public final SMutableArray doGrowableArray(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    GrowableArray dest = receiver.getGrowableStorage(storageType);
+    Object[] src = other.toBoxedArray();
+    int count = checkRanges(start, stop, dest.getSize(), repStart, src.length);
+    for (int i = 0; i < count; i++) {
+      dest.set(start - 1 + i, src[(int) repStart - 1 + i]);
+    }
+    return receiver;
+  }
+
+  @Specialization(guards = "!receiver.isGrowableType()")
+  public final SMutableArray doGeneric(final SMutableArray receiver,
+      final long start, final long stop, final SArray other, final long repStart) {
+    // the elements stay the same, even if the ranges turn out to be invalid
+    Object[] src  = other.toBoxedArray();
+    Object[] dest = receiver.transitionToObjectStorage();
+    int count = checkRanges(start, stop, dest.length, repStart, src.length);
+    System.arraycopy(src, (int) repStart - 1, dest, (int) start - 1, count);
+    return receiver;
+  }
+}
@@ -6,6 +6,7 @@ import som.interpreter.SArguments;
 import som.interpreter.nodes.nary.ExprWithTagsNode;
 import som.vm.constants.Nil;
 import som.vmobjects.SArray;
+import som.vmobjects.SArray.GrowableArray;
 
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
@@ -77,6 +78,30 @@ public abstract class ToArgumentsArrayNode extends ExprWithTagsNode {
     return args;
   }
 
+  @Specialization(guards = "somArray.isByteType()")
+  public final Object[] doByteArray(final SArray somArray,
+      final Object rcvr) {
+    byte[] arr = somArray.getByteStorage(storageType);
+    Object[] args = new Object[arr.length + 1];
+    args[0] = rcvr;
+    for (int i = 0; i < arr.length; i++) {
+      args[i + 1] = (long) (arr[i] & 0xFF);
+    }
+    return args;
+  }
+
+  @Specialization(guards = "somArray.isIntType()")
+  public final Object[] doIntArray(final SArray somArray,
+      final Object rcvr) {
+    int[] arr = somArray.getIntStorage(storageType);
+    Object[] args = new Object[arr.length + 1];
+    args[0] = rcvr;
+    for (int i = 0; i < arr.length; i++) {
+      args[i + 1] = (long) arr[i];
+    }
+    return args;
+  }
+
   @Specialization(guards = "somArray.isDoubleType()")
   public final Object[] doDoubleArray(final SArray somArray,
       final Object rcvr) {
@@ -100,4 +125,16 @@ public abstract class ToArgumentsArrayNode extends ExprWithTagsNode {
     }
     return args;
   }
+
+  @Specialization(guards = "somArray.isGrowableType()")
+  public final Object[] doGrowableArray(final SArray somArray,
+      final Object rcvr) {
+    GrowableArray arr = somArray.getGrowableStorage(storageType);
+    Object[] args = new Object[arr.getSize() + 1];
+    args[0] = rcvr;
+    for (int i = 0; i < arr.getSize(); i++) {
+      args[i + 1] = arr.get(i);
+    }
+    return args;
+  }
 }
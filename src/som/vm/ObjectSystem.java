@@ -11,6 +11,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -20,6 +22,7 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 
 import som.VM;
+import som.VmSettings;
 import som.compiler.AccessModifier;
 import som.compiler.MethodBuilder;
 import som.compiler.MixinBuilder.MixinDefinitionId;
@@ -46,6 +49,7 @@ import som.primitives.DoublePrimsFactory;
 import som.primitives.EqualsEqualsPrimFactory;
 import som.primitives.EqualsPrimFactory;
 import som.primitives.ExceptionsPrimsFactory;
+import som.primitives.HashMapPrimsFactory;
 import som.primitives.HashPrimFactory;
 import som.primitives.IntegerPrimsFactory;
 import som.primitives.MethodPrimsFactory;
@@ -73,11 +77,16 @@ import som.primitives.arithmetic.RemainderPrimFactory;
 import som.primitives.arithmetic.SinPrimFactory;
 import som.primitives.arithmetic.SqrtPrimFactory;
 import som.primitives.arithmetic.SubtractionPrimFactory;
+import som.primitives.arrays.AppendPrimFactory;
 import som.primitives.arrays.AtPrimFactory;
 import som.primitives.arrays.AtPutPrimFactory;
+import som.primitives.arrays.CopyFromToPrimFactory;
 import som.primitives.arrays.DoIndexesPrimFactory;
 import som.primitives.arrays.NewPrimFactory;
 import som.primitives.arrays.PutAllNodeFactory;
+import som.primitives.arrays.ReductionPrimsFactory;
+import som.primitives.arrays.RemoveLastPrimFactory;
+import som.primitives.arrays.ReplaceFromToWithStartingAtPrimFactory;
 import som.primitives.arrays.ToArgumentsArrayNodeGen;
 import som.primitives.bitops.BitAndPrimFactory;
 import som.primitives.bitops.BitXorPrimFactory;
@@ -86,9 +95,11 @@ import som.vm.constants.KernelObj;
 import som.vm.constants.Nil;
 import som.vmobjects.SClass;
 import som.vmobjects.SInvokable;
+import som.vmobjects.SInvokable.LazyMethod;
 import som.vmobjects.SObject;
 import som.vmobjects.SObjectWithClass.SObjectWithoutFields;
 import som.vmobjects.SSymbol;
+import tools.startup.StartupProfiler;
 
 
 public final class ObjectSystem {
@@ -108,13 +119,69 @@ public final class ObjectSystem {
   private boolean initialized = false;
 
   public ObjectSystem(final String platformFilename,
-      final String kernelFilename) throws IOException {
+      final String kernelFilename, final String applicationFilename)
+          throws IOException {
     last = this;
     loadedModules  = new LinkedHashMap<>();
+
+    if (VmSettings.PARALLEL_MODULE_LOADING) {
+      parseModulesInParallel(platformFilename, kernelFilename,
+          applicationFilename);
+    }
+
     platformModule = loadModule(platformFilename);
     kernelModule   = loadModule(kernelFilename);
   }
 
+  /**
+   * Parse the given modules concurrently and add them to the loaded
+   * modules, so that {@link #loadModule(String)} finds them later.
+   *
+   * <p>Parsing a module does not depend on any other module, classes are
+   * only created when a module is instantiated. Thus, the modules are
+   * instantiated in the same order as without parallel parsing.
+   * The application module is only parsed when it is a file, because it
+   * might not be given, or be something else than a module.
+   */
+  private void parseModulesInParallel(final String platformFilename,
+      final String kernelFilename, final String applicationFilename)
+          throws IOException {
+    List<File> files = new ArrayList<>(3);
+    files.add(new File(platformFilename));
+    files.add(new File(kernelFilename));
+    if (applicationFilename != null && applicationFilename.endsWith(".som")) {
+      File app = new File(applicationFilename);
+      if (app.isFile()) {
+        files.add(app);
+      }
+    }
+
+    List<ForkJoinTask<MixinDefinition>> tasks = new ArrayList<>(files.size());
+    for (File file : files.subList(1, files.size())) {
+      tasks.add(ForkJoinPool.commonPool().submit(
+          () -> SourcecodeCompiler.compileModule(file)));
+    }
+
+    // the platform is parsed on this thread, while the others are parsed in the pool
+    loadedModules.put(files.get(0).getAbsolutePath(),
+        SourcecodeCompiler.compileModule(files.get(0)));
+
+    for (int i = 0; i < tasks.size(); i++) {
+      MixinDefinition module;
+      try {
+        module = tasks.get(i).get();
+      } catch (InterruptedException e) {
+        throw new IOException("Interrupted while parsing modules", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new RuntimeException(e.getCause());
+      }
+      loadedModules.putIfAbsent(files.get(i + 1).getAbsolutePath(), module);
+    }
+  }
+
   public static boolean isInitialized() {
     return last.initialized;
   }
@@ -124,7 +191,7 @@ public final class ObjectSystem {
     return platformClass;
   }
 
-  public MixinDefinition loadModule(final String filename)
+  public synchronized MixinDefinition loadModule(final String filename)
       throws IOException {
     File file = new File(filename);
 
@@ -142,7 +209,7 @@ public final class ObjectSystem {
       final SSymbol signature,
       final som.primitives.Primitive primitive,
       final NodeFactory<? extends ExpressionNode> factory) {
-    CompilerAsserts.neverPartOfCompilation("This is only executed during bootstrapping.");
+    CompilerAsserts.neverPartOfCompilation("This is only executed during bootstrapping, or on first use.");
     assert signature.getNumberOfSignatureArguments() > 1 :
       "Primitives should have the vmMirror as receiver, " +
       "and then at least one object they are applied to";
@@ -193,6 +260,9 @@ public final class ObjectSystem {
       case 4:
         primNode = factory.createNode(args[0], args[1], args[2], args[3]);
         break;
+      case 5:
+        primNode = factory.createNode(source, args[0], args[1], args[2], args[3], args[4]);
+        break;
       default:
         throw new RuntimeException("Not supported by SOM.");
     }
@@ -204,6 +274,34 @@ public final class ObjectSystem {
         primMethodNode, null);
   }
 
+  /**
+   * Most primitives are not used by a program, so their ASTs and call
+   * targets are only constructed on first use.
+   */
+  private static final class LazyVmMirrorPrimitive implements LazyMethod {
+    private final SSymbol signature;
+    private final som.primitives.Primitive primitive;
+    private final NodeFactory<? extends ExpressionNode> factory;
+
+    LazyVmMirrorPrimitive(final SSymbol signature,
+        final som.primitives.Primitive primitive,
+        final NodeFactory<? extends ExpressionNode> factory) {
+      this.signature = signature;
+      this.primitive = primitive;
+      this.factory   = factory;
+    }
+
+    @Override
+    public SourceSection getSourceSection() {
+      return null; // primitives do not have a source section
+    }
+
+    @Override
+    public SInvokable assemble() {
+      return constructVmMirrorPrimitive(signature, primitive, factory);
+    }
+  }
+
   private static List<NodeFactory<? extends ExpressionNode>> getFactories() {
     List<NodeFactory<? extends ExpressionNode>> allFactories = new ArrayList<>();
     allFactories.addAll(AndMessageNodeFactory.getFactories());
@@ -215,9 +313,11 @@ public final class ObjectSystem {
     allFactories.addAll(MethodPrimsFactory.getFactories());
     allFactories.addAll(ObjectPrimsFactory.getFactories());
     allFactories.addAll(StringPrimsFactory.getFactories());
+    allFactories.addAll(HashMapPrimsFactory.getFactories());
     allFactories.addAll(SystemPrimsFactory.getFactories());
     allFactories.addAll(ObjectSystemPrimsFactory.getFactories());
     allFactories.addAll(MirrorPrimsFactory.getFactories());
+    allFactories.addAll(ReductionPrimsFactory.getFactories());
     allFactories.addAll(ExceptionsPrimsFactory.getFactories());
     allFactories.addAll(ActorClassesFactory.getFactories());
     allFactories.addAll(PromisePrimsFactory.getFactories());
@@ -248,6 +348,10 @@ public final class ObjectSystem {
     allFactories.add(DoIndexesPrimFactory.getInstance());
     allFactories.add(NewPrimFactory.getInstance());
     allFactories.add(PutAllNodeFactory.getInstance());
+    allFactories.add(AppendPrimFactory.getInstance());
+    allFactories.add(RemoveLastPrimFactory.getInstance());
+    allFactories.add(CopyFromToPrimFactory.getInstance());
+    allFactories.add(ReplaceFromToWithStartingAtPrimFactory.getInstance());
 
     allFactories.add(CreateActorPrimFactory.getInstance());
     allFactories.add(ResolvePromiseNodeFactory.getInstance());
@@ -264,8 +368,9 @@ public final class ObjectSystem {
       if (prim != null) {
         for (String sig : prim.value()) {
           SSymbol signature = Symbols.symbolFor(sig);
-          primitives.put(signature,
-              constructVmMirrorPrimitive(signature, prim, primFact));
+          primitives.put(signature, new SInvokable(signature,
+              AccessModifier.PUBLIC, null,
+              new LazyVmMirrorPrimitive(signature, prim, primFact)));
         }
       }
     }
@@ -345,6 +450,7 @@ public final class ObjectSystem {
 
   public SObjectWithoutFields initialize() {
     assert platformModule != null && kernelModule != null;
+    StartupProfiler.enterPhase("kernel classes");
 
     // these classes need to be defined by the Kernel module
     MixinDefinition topDef   = kernelModule.getNestedMixinDefinition("Top");
@@ -440,12 +546,21 @@ Classes.transferClass.getSOMClass().setClassGroup(Classes.metaclassClass.getInst
 
 
     SClass kernelClass = kernelModule.instantiateClass(Nil.nilObject, Classes.objectClass);
+    if (kernelClass.getLayoutForInstances().getNumberOfInlineFields() !=
+        KernelObj.kernel.getNumberOfInlineFields()) {
+      throw new IllegalStateException("The kernel object was allocated with "
+          + KernelObj.kernel.getNumberOfInlineFields() + " inline fields, "
+          + "which does not match the number of slots of the Kernel class");
+    }
     KernelObj.kernel.setClass(kernelClass);
 
     // create and initialize the vmMirror object
+    StartupProfiler.enterPhase("vm mirror primitives");
     SObjectWithoutFields vmMirror = constructVmMirror();
     assert vmMirror.isValue();
 
+    StartupProfiler.enterPhase("kernel object slots");
+
     // initialize slots of kernel object
     setSlot(KernelObj.kernel, "vmMirror",   vmMirror, kernelModule);
     setSlot(KernelObj.kernel, "ObjectSlot", Classes.objectClass, kernelModule);
@@ -479,6 +594,7 @@ Classes.transferClass.getSOMClass().setClassGroup(Classes.metaclassClass.getInst
 
     initialized = true;
 
+    StartupProfiler.enterPhase("platform class");
     platformClass = platformModule.instantiateModuleClass();
     return vmMirror;
   }
@@ -519,6 +635,7 @@ Classes.transferClass.getSOMClass().setClassGroup(Classes.metaclassClass.getInst
   }
 
   public void executeApplication(final SObjectWithoutFields vmMirror, final Actor mainActor) {
+    StartupProfiler.enterPhase("platform initialization");
     Object platform = platformModule.instantiateObject(platformClass, vmMirror);
 
     SourceSection source = Source.fromNamedText("",
@@ -531,6 +648,7 @@ Classes.transferClass.getSOMClass().setClassGroup(Classes.metaclassClass.getInst
     DirectMessage msg = new DirectMessage(mainActor, start,
         new Object[] {platform}, mainActor,
         null, EventualSendNode.createOnReceiveCallTargetForVMMain(start, 1, source, future));
+    StartupProfiler.enterPhase("application");
     mainActor.send(msg);
 
     try {
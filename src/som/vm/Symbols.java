@@ -1,27 +1,101 @@
 package som.vm;
 
-import java.util.HashMap;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
 
 import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 
+/**
+ * The symbol table is shared between all actors, and thus, accessed
+ * concurrently.
+ *
+ * <p>Symbols used by the VM and the source code are kept alive for the whole
+ * execution. Symbols created at runtime, for instance with
+ * <code>stringAsSymbol:</code>, are only referenced weakly, so that they
+ * can be collected when the program does not use them anymore. The table
+ * maps a string either to an {@link SSymbol}, or to a {@link DynamicSymbol}.
+ */
 public final class Symbols {
 
   @TruffleBoundary
   public static SSymbol symbolFor(final String string) {
-    String interned = string.intern();
+    Object entry = symbolTable.get(string);
+    if (entry instanceof SSymbol) {
+      return (SSymbol) entry;
+    }
 
-    SSymbol result = symbolTable.get(interned);
-    if (result != null) { return result; }
+    // either unknown, or a dynamic symbol that now needs to be kept alive
+    return (SSymbol) symbolTable.compute(string, Symbols::keepAlive);
+  }
+
+  /**
+   * Get the symbol for a string that was created dynamically at runtime.
+   * If the symbol does not exist yet, it is only weakly referenced.
+   */
+  @TruffleBoundary
+  public static SSymbol dynamicSymbolFor(final String string) {
+    SSymbol result = getSymbol(symbolTable.get(string));
+    if (result != null) {
+      return result;
+    }
+
+    removeCollectedSymbols();
+
+    SSymbol candidate = new SSymbol(string);
+    while (true) {
+      // the candidate stays strongly reachable until we got our result
+      result = getSymbol(symbolTable.compute(string, (str, entry) -> {
+        if (getSymbol(entry) != null) {
+          return entry;
+        }
+        return new DynamicSymbol(candidate);
+      }));
+
+      // the existing dynamic symbol might have been collected concurrently
+      if (result != null) {
+        return result;
+      }
+    }
+  }
+
+  private static Object keepAlive(final String string, final Object entry) {
+    SSymbol symbol = getSymbol(entry);
+    if (symbol != null) {
+      return symbol;
+    }
+    return new SSymbol(string);
+  }
+
+  private static SSymbol getSymbol(final Object entry) {
+    if (entry instanceof DynamicSymbol) {
+      return ((DynamicSymbol) entry).get();
+    }
+    return (SSymbol) entry;
+  }
+
+  private static void removeCollectedSymbols() {
+    DynamicSymbol collected;
+    while ((collected = (DynamicSymbol) collectedSymbols.poll()) != null) {
+      // only removes the entry, if it wasn't replaced in the meantime
+      symbolTable.remove(collected.string, collected);
+    }
+  }
+
+  private static final class DynamicSymbol extends WeakReference<SSymbol> {
+    private final String string;
 
-    result = new SSymbol(interned);
-    symbolTable.put(string, result);
-    return result;
+    DynamicSymbol(final SSymbol symbol) {
+      super(symbol, collectedSymbols);
+      this.string = symbol.getString();
+    }
   }
 
-  private static final HashMap<String, SSymbol> symbolTable = new HashMap<>();
+  private static final ConcurrentHashMap<String, Object> symbolTable = new ConcurrentHashMap<>();
+  private static final ReferenceQueue<SSymbol> collectedSymbols = new ReferenceQueue<>();
 
   public static final SSymbol NEW             = symbolFor("new");
   public static final SSymbol INITIALIZATION  = symbolFor("initialization");
@@ -4,6 +4,7 @@ import som.VM;
 import som.vm.Symbols;
 import som.vmobjects.SInvokable;
 import som.vmobjects.SObject.SImmutableObject;
+import som.vmobjects.SObject.SImmutableObject20;
 import som.vmobjects.SObjectWithClass;
 
 import com.oracle.truffle.api.CompilerDirectives;
@@ -11,7 +12,7 @@ import com.oracle.truffle.api.CompilerDirectives;
 
 public final class KernelObj {
   private KernelObj() { }
-  public static final SImmutableObject kernel = new SImmutableObject(true, true);
+  public static final SImmutableObject kernel = new SImmutableObject20(true, true);
 
   public static Object signalException(final String selector, final Object receiver) {
     SObjectWithClass rcvr = (SObjectWithClass) receiver;
@@ -55,16 +55,37 @@ public abstract class SArray extends SAbstractObject {
     return (long[]) storageType.profile(storage);
   }
 
+  public byte[] getByteStorage(final ValueProfile storageType) {
+    assert isByteType();
+    return (byte[]) storageType.profile(storage);
+  }
+
+  public int[] getIntStorage(final ValueProfile storageType) {
+    assert isIntType();
+    return (int[]) storageType.profile(storage);
+  }
+
   public double[] getDoubleStorage(final ValueProfile storageType) {
     assert isDoubleType();
     return (double[]) storageType.profile(storage);
   }
 
+  /** @return the long[], byte[], or int[] storage */
+  public Object getSomeIntegerStorage(final ValueProfile storageType) {
+    assert isSomeIntegerType();
+    return storageType.profile(storage);
+  }
+
   public boolean[] getBooleanStorage(final ValueProfile storageType) {
     assert isBooleanType();
     return (boolean[]) storageType.profile(storage);
   }
 
+  public GrowableArray getGrowableStorage(final ValueProfile storageType) {
+    assert isGrowableType();
+    return (GrowableArray) storageType.profile(storage);
+  }
+
   public boolean isEmptyType() {
     return storage instanceof Integer;
   }
@@ -73,20 +94,178 @@ public abstract class SArray extends SAbstractObject {
     return storage instanceof PartiallyEmptyArray;
   }
 
+  public boolean isGrowableType() {
+    return storage instanceof GrowableArray;
+  }
+
+  public boolean isGrowableLongType() {
+    return isGrowableType() && ((GrowableArray) storage).isLongType();
+  }
+
+  public boolean isGrowableDoubleType() {
+    return isGrowableType() && ((GrowableArray) storage).isDoubleType();
+  }
+
+  public boolean isGrowableBooleanType() {
+    return isGrowableType() && ((GrowableArray) storage).isBooleanType();
+  }
+
+  public boolean isGrowableObjectType() {
+    return isGrowableType() && ((GrowableArray) storage).isObjectType();
+  }
+
   public boolean isObjectType()  { return storage instanceof Object[]; }
   public boolean isLongType()    { return storage instanceof long[];   }
+  public boolean isByteType()    { return storage instanceof byte[];   }
+  public boolean isIntType()     { return storage instanceof int[];    }
   public boolean isDoubleType()  { return storage instanceof double[]; }
   public boolean isBooleanType() { return storage instanceof boolean[]; }
 
+  public boolean isSomeIntegerType() {
+    return isLongType() || isByteType() || isIntType();
+  }
+
   public boolean isSomePrimitiveType() {
-    return isLongType() || isDoubleType() || isBooleanType();
+    return isLongType() || isByteType() || isIntType() || isDoubleType()
+        || isBooleanType();
+  }
+
+  /**
+   * Checks the range of a bulk operation, given with 1-based inclusive
+   * indexes. An empty range, where <code>stop = start - 1</code>, is valid.
+   */
+  public static void checkRange(final long start, final long stop, final int length) {
+    if (start < 1 || stop > length || stop < start - 1) {
+      CompilerDirectives.transferToInterpreter();
+      throw new ArrayIndexOutOfBoundsException(
+          "Range " + start + " to " + stop + " is out of bounds for size " + length);
+    }
+  }
+
+  /**
+   * @return a new Object[] with all elements boxed, used by bulk operations
+   *         on storage of different types
+   */
+  public final Object[] toBoxedArray() {
+    Object s = storage;
+    if (s instanceof Integer) {
+      Object[] result = new Object[(int) s];
+      Arrays.fill(result, Nil.nilObject);
+      return result;
+    } else if (s instanceof PartiallyEmptyArray) {
+      return ((PartiallyEmptyArray) s).getStorage().clone();
+    } else if (s instanceof GrowableArray) {
+      GrowableArray arr = (GrowableArray) s;
+      Object[] result = new Object[arr.getSize()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = arr.get(i);
+      }
+      return result;
+    } else if (s instanceof Object[]) {
+      return ((Object[]) s).clone();
+    } else if (s instanceof long[]) {
+      long[] arr = (long[]) s;
+      Object[] result = new Object[arr.length];
+      for (int i = 0; i < arr.length; i++) {
+        result[i] = arr[i];
+      }
+      return result;
+    } else if (s instanceof byte[]) {
+      byte[] arr = (byte[]) s;
+      Object[] result = new Object[arr.length];
+      for (int i = 0; i < arr.length; i++) {
+        result[i] = (long) (arr[i] & 0xFF);
+      }
+      return result;
+    } else if (s instanceof int[]) {
+      int[] arr = (int[]) s;
+      Object[] result = new Object[arr.length];
+      for (int i = 0; i < arr.length; i++) {
+        result[i] = (long) arr[i];
+      }
+      return result;
+    } else if (s instanceof double[]) {
+      double[] arr = (double[]) s;
+      Object[] result = new Object[arr.length];
+      for (int i = 0; i < arr.length; i++) {
+        result[i] = arr[i];
+      }
+      return result;
+    } else {
+      boolean[] arr = (boolean[]) s;
+      Object[] result = new Object[arr.length];
+      for (int i = 0; i < arr.length; i++) {
+        result[i] = arr[i];
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Integers from 0 to 255 are stored in a byte[], and other integers that
+   * fit into 32 bits in an int[]. A store of a larger integer widens the
+   * storage.
+   */
+  public static boolean fitsInByte(final long value) {
+    return 0 <= value && value <= 255;
+  }
+
+  public static boolean fitsInInt(final long value) {
+    return Integer.MIN_VALUE <= value && value <= Integer.MAX_VALUE;
+  }
+
+  /** @return the most compact storage for integers in the given range */
+  private static Object createIntegerStorage(final int length, final long min,
+      final long max) {
+    if (fitsInByte(min) && fitsInByte(max)) {
+      return new byte[length];
+    } else if (fitsInInt(min) && fitsInInt(max)) {
+      return new int[length];
+    } else {
+      return new long[length];
+    }
   }
 
+  private static void setInteger(final Object storage, final int idx, final long value) {
+    if (storage instanceof byte[]) {
+      ((byte[]) storage)[idx] = (byte) value;
+    } else if (storage instanceof int[]) {
+      ((int[]) storage)[idx] = (int) value;
+    } else {
+      ((long[]) storage)[idx] = value;
+    }
+  }
+
+  private static Object createLong(final Object[] arr) {
+    long min = 0;
+    long max = 0;
+    for (Object o : arr) {
+      min = Math.min(min, (long) o);
+      max = Math.max(max, (long) o);
+    }
 
-  private static long[] createLong(final Object[] arr) {
-    long[] storage = new long[arr.length];
+    Object storage = createIntegerStorage(arr.length, min, max);
     for (int i = 0; i < arr.length; i++) {
-      storage[i] = (long) arr[i];
+      setInteger(storage, i, (long) arr[i]);
+    }
+    return storage;
+  }
+
+  /** @return the given storage, or a more compact copy of it */
+  public static Object compactLongStorage(final long[] arr) {
+    long min = 0;
+    long max = 0;
+    for (long l : arr) {
+      min = Math.min(min, l);
+      max = Math.max(max, l);
+    }
+
+    Object storage = createIntegerStorage(arr.length, min, max);
+    if (storage instanceof long[]) {
+      return arr;
+    }
+    for (int i = 0; i < arr.length; i++) {
+      setInteger(storage, i, arr[i]);
     }
     return storage;
   }
@@ -169,6 +348,206 @@ public abstract class SArray extends SAbstractObject {
     }
   }
 
+  /**
+   * Storage of arrays that grow by appending elements, for instance to back
+   * a Vector. The elements are kept in a long[], double[], boolean[], or
+   * Object[] array, which is only generalized to Object[] when a value of
+   * another type is stored. The capacity of the array is doubled when it is
+   * exhausted, so that appending is amortized constant time.
+   */
+  public static final class GrowableArray {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Object storage; // null until the first element is appended
+    private int size;
+
+    private GrowableArray(final Object storage, final int size) {
+      this.storage = storage;
+      this.size    = size;
+    }
+
+    public Object getStorage() {
+      return storage;
+    }
+
+    public boolean isLongType()    { return storage instanceof long[];    }
+    public boolean isDoubleType()  { return storage instanceof double[];  }
+    public boolean isBooleanType() { return storage instanceof boolean[]; }
+    public boolean isObjectType()  { return storage instanceof Object[];  }
+
+    /**
+     * The typed storage getters give access to the elements at indexes
+     * smaller than the size, see {@link #checkIndex(long)}.
+     */
+    public long[] getLongStorage(final ValueProfile storageType) {
+      assert isLongType();
+      return (long[]) storageType.profile(storage);
+    }
+
+    public double[] getDoubleStorage(final ValueProfile storageType) {
+      assert isDoubleType();
+      return (double[]) storageType.profile(storage);
+    }
+
+    public boolean[] getBooleanStorage(final ValueProfile storageType) {
+      assert isBooleanType();
+      return (boolean[]) storageType.profile(storage);
+    }
+
+    public Object[] getObjectStorage(final ValueProfile storageType) {
+      assert isObjectType();
+      return (Object[]) storageType.profile(storage);
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public Object get(final long idx) {
+      checkIndex(idx);
+      Object s = storage;
+      int i = (int) idx;
+      if (s instanceof long[]) {
+        return ((long[]) s)[i];
+      } else if (s instanceof double[]) {
+        return ((double[]) s)[i];
+      } else if (s instanceof boolean[]) {
+        return ((boolean[]) s)[i];
+      } else {
+        return ((Object[]) s)[i];
+      }
+    }
+
+    public void set(final long idx, final Object value) {
+      checkIndex(idx);
+      store((int) idx, value);
+    }
+
+    public void append(final Object value) {
+      if (storage == null) {
+        storage = newStorageFor(value, INITIAL_CAPACITY);
+      } else if (size == capacity(storage)) {
+        storage = copyStorage(storage, capacity(storage) * 2);
+      }
+      store(size, value);
+      size += 1;
+    }
+
+    public Object removeLast() {
+      Object last = get(size - 1);
+      size -= 1;
+      if (storage instanceof Object[]) {
+        // don't keep the removed object alive
+        ((Object[]) storage)[size] = null;
+      }
+      return last;
+    }
+
+    /** @return a copy of the elements as storage for a fixed-size array */
+    public Object copyToFixedStorage() {
+      return copyRangeToFixedStorage(0, size);
+    }
+
+    /**
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     * @return a copy of the elements in the range as storage for a
+     *         fixed-size array
+     */
+    public Object copyRangeToFixedStorage(final int from, final int to) {
+      if (from == to) {
+        return 0; // empty storage
+      }
+      Object s = storage;
+      if (s instanceof long[]) {
+        return Arrays.copyOfRange((long[]) s, from, to);
+      } else if (s instanceof double[]) {
+        return Arrays.copyOfRange((double[]) s, from, to);
+      } else if (s instanceof boolean[]) {
+        return Arrays.copyOfRange((boolean[]) s, from, to);
+      } else {
+        return Arrays.copyOfRange((Object[]) s, from, to);
+      }
+    }
+
+    /** @param idx 0-based index, which has to be smaller than the size */
+    public void checkIndex(final long idx) {
+      if (idx < 0 || idx >= size) {
+        CompilerDirectives.transferToInterpreter();
+        throw new ArrayIndexOutOfBoundsException((int) idx);
+      }
+    }
+
+    private void store(final int idx, final Object value) {
+      Object s = storage;
+      if (s instanceof long[] && value instanceof Long) {
+        ((long[]) s)[idx] = (long) value;
+      } else if (s instanceof double[] && value instanceof Double) {
+        ((double[]) s)[idx] = (double) value;
+      } else if (s instanceof boolean[] && value instanceof Boolean) {
+        ((boolean[]) s)[idx] = (boolean) value;
+      } else {
+        if (!(s instanceof Object[])) {
+          CompilerDirectives.transferToInterpreter();
+          storage = generalize(s);
+        }
+        ((Object[]) storage)[idx] = value;
+      }
+    }
+
+    private Object[] generalize(final Object s) {
+      Object[] result = new Object[capacity(s)];
+      for (int i = 0; i < size; i++) {
+        if (s instanceof long[]) {
+          result[i] = ((long[]) s)[i];
+        } else if (s instanceof double[]) {
+          result[i] = ((double[]) s)[i];
+        } else {
+          result[i] = ((boolean[]) s)[i];
+        }
+      }
+      return result;
+    }
+
+    private static Object newStorageFor(final Object value, final int capacity) {
+      if (value instanceof Long) {
+        return new long[capacity];
+      } else if (value instanceof Double) {
+        return new double[capacity];
+      } else if (value instanceof Boolean) {
+        return new boolean[capacity];
+      } else {
+        return new Object[capacity];
+      }
+    }
+
+    private static int capacity(final Object s) {
+      if (s instanceof long[]) {
+        return ((long[]) s).length;
+      } else if (s instanceof double[]) {
+        return ((double[]) s).length;
+      } else if (s instanceof boolean[]) {
+        return ((boolean[]) s).length;
+      } else {
+        return ((Object[]) s).length;
+      }
+    }
+
+    private static Object copyStorage(final Object s, final int length) {
+      if (s == null) {
+        return null;
+      } else if (s instanceof long[]) {
+        return Arrays.copyOf((long[]) s, length);
+      } else if (s instanceof double[]) {
+        return Arrays.copyOf((double[]) s, length);
+      } else if (s instanceof boolean[]) {
+        return Arrays.copyOf((boolean[]) s, length);
+      } else {
+        return Arrays.copyOf((Object[]) s, length);
+      }
+    }
+  }
+
   public static final ValueProfile ObjectStorageType = ValueProfile.createClassProfile();
 
   public static class SMutableArray extends SArray {
@@ -242,6 +621,43 @@ public abstract class SArray extends SAbstractObject {
       this.storage = newStorage;
     }
 
+    /**
+     * Transition to the Growable strategy, keeping the elements, and the
+     * primitive type of the storage, if there is one.
+     */
+    public final GrowableArray transitionToGrowable() {
+      assert !isGrowableType();
+      GrowableArray arr;
+      if (isEmptyType()) {
+        int length = (int) storage;
+        if (length == 0) {
+          arr = new GrowableArray(null, 0);
+        } else {
+          Object[] nils = new Object[length];
+          Arrays.fill(nils, Nil.nilObject);
+          arr = new GrowableArray(nils, length);
+        }
+      } else if (isPartiallyEmptyType()) {
+        Object[] s = ((PartiallyEmptyArray) storage).getStorage();
+        arr = new GrowableArray(s, s.length);
+      } else if (isLongType()) {
+        arr = new GrowableArray(storage, ((long[]) storage).length);
+      } else if (isByteType() || isIntType()) {
+        // appended values are unlikely to stay in range, use the widest storage
+        long[] longs = toLongStorage();
+        arr = new GrowableArray(longs, longs.length);
+      } else if (isDoubleType()) {
+        arr = new GrowableArray(storage, ((double[]) storage).length);
+      } else if (isBooleanType()) {
+        arr = new GrowableArray(storage, ((boolean[]) storage).length);
+      } else {
+        assert isObjectType();
+        arr = new GrowableArray(storage, ((Object[]) storage).length);
+      }
+      this.storage = arr;
+      return arr;
+    }
+
 //    private static final ValueProfile emptyStorageType = ValueProfile.createClassProfile();
 
     public final void transitionToObjectWithAll(final long length, final Object val) {
@@ -252,10 +668,19 @@ public abstract class SArray extends SAbstractObject {
     }
 
     public final void transitionToLongWithAll(final long length, final long val) {
-      long[] arr = new long[(int) length];
-      Arrays.fill(arr, val);
-      final Object storage = arr;
-      this.storage = storage;
+      if (fitsInByte(val)) {
+        byte[] arr = new byte[(int) length];
+        Arrays.fill(arr, (byte) val);
+        this.storage = arr;
+      } else if (fitsInInt(val)) {
+        int[] arr = new int[(int) length];
+        Arrays.fill(arr, (int) val);
+        this.storage = arr;
+      } else {
+        long[] arr = new long[(int) length];
+        Arrays.fill(arr, val);
+        this.storage = arr;
+      }
     }
 
     public final void transitionToDoubleWithAll(final long length, final double val) {
@@ -274,6 +699,52 @@ public abstract class SArray extends SAbstractObject {
       this.storage = storage;
     }
 
+    /** Widen byte[] or int[] storage, so that it can hold the given value. */
+    public final void widenIntegerStorageFor(final long value) {
+      if (isByteType() && fitsInInt(value)) {
+        byte[] s = (byte[]) storage;
+        int[] result = new int[s.length];
+        for (int i = 0; i < s.length; i++) {
+          result[i] = s[i] & 0xFF;
+        }
+        this.storage = result;
+      } else {
+        this.storage = toLongStorage();
+      }
+    }
+
+    /** Widen byte[] or int[] storage to long[] storage. */
+    public final long[] toLongStorage() {
+      long[] result;
+      if (storage instanceof byte[]) {
+        byte[] s = (byte[]) storage;
+        result = new long[s.length];
+        for (int i = 0; i < s.length; i++) {
+          result[i] = s[i] & 0xFF;
+        }
+      } else {
+        int[] s = (int[]) storage;
+        result = new long[s.length];
+        for (int i = 0; i < s.length; i++) {
+          result[i] = s[i];
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Transition to Object[] storage, boxing the elements. Used by bulk
+     * operations that store elements of another type, so that the strategy
+     * changes only once per operation.
+     */
+    public final Object[] transitionToObjectStorage() {
+      assert !isGrowableType();
+      if (!isObjectType()) {
+        this.storage = toBoxedArray();
+      }
+      return (Object[]) storage;
+    }
+
     public final void ifFullOrObjectTransitionPartiallyEmpty() {
       PartiallyEmptyArray arr = getPartiallyEmptyStorage(PartiallyEmptyStorageType);
 
@@ -318,10 +789,17 @@ public abstract class SArray extends SAbstractObject {
         return ((double[]) old.storage).clone();
       } else if (old.isLongType()) {
         return ((long[]) old.storage).clone();
+      } else if (old.isByteType()) {
+        return ((byte[]) old.storage).clone();
+      } else if (old.isIntType()) {
+        return ((int[]) old.storage).clone();
       } else if (old.isObjectType()) {
         return ((Object[]) old.storage).clone();
       } else if (old.isPartiallyEmptyType()) {
         return ((PartiallyEmptyArray) old.storage).copy();
+      } else if (old.isGrowableType()) {
+        // the transferred copy does not need to grow in place
+        return ((GrowableArray) old.storage).copyToFixedStorage();
       } else {
         CompilerDirectives.transferToInterpreter();
         assert false : "Support for some storage type missing?";
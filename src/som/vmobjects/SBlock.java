@@ -32,12 +32,24 @@ public final class SBlock extends SAbstractObject {
 
   private final SInvokable        method;
   private final MaterializedFrame context;
+  private final Object            outerSelf;
   private final SClass            blockClass;
 
   public SBlock(final SInvokable blockMethod, final MaterializedFrame context,
       final SClass blockClass) {
+    this(blockMethod, context,
+        context == null ? null : SArguments.rcvr(context), blockClass);
+  }
+
+  /**
+   * Blocks that access only the receiver of their outer context keep just
+   * the receiver, which avoids materializing the outer frame.
+   */
+  public SBlock(final SInvokable blockMethod, final MaterializedFrame context,
+      final Object outerSelf, final SClass blockClass) {
     this.method     = blockMethod;
     this.context    = context;
+    this.outerSelf  = outerSelf;
     this.blockClass = blockClass;
   }
 
@@ -51,7 +63,8 @@ public final class SBlock extends SAbstractObject {
   }
 
   public Object getOuterSelf() {
-    return SArguments.rcvr(getContext());
+    assert outerSelf != null;
+    return outerSelf;
   }
 
   @Override
@@ -0,0 +1,377 @@
+package som.vmobjects;
+
+import java.math.BigInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * A hash table with open addressing and linear probing, which backs the
+ * dictionaries of the core library.
+ *
+ * <p>Similar to {@link SArray}, the storage uses a strategy that is tagged
+ * by which arrays are used. A table that only ever had integers as keys
+ * keeps them unboxed in a long[]. On the first key of another type, the
+ * keys are boxed into an Object[]. Values are kept in an Object[], in
+ * which free slots are null. Removal shifts the following entries back,
+ * so that no tombstones are needed.
+ *
+ * <p>Keys are compared like with <code>value:sameAs:</code>, i.e., numbers,
+ * strings, and symbols by value, and all other objects by identity. An
+ * identity table compares strings by identity, too. Strings are stored
+ * flattened, so that ropes and substrings do not need to be materialized
+ * again on every lookup.
+ */
+public final class SHashMap extends SAbstractObject {
+  private static final int INITIAL_CAPACITY = 8;
+
+  private final SClass  clazz;
+  private final boolean identity;
+
+  private long[]   longKeys;
+  private Object[] keys;
+  private Object[] values;
+  private int      size;
+
+  public SHashMap(final SClass clazz, final boolean identity) {
+    this.clazz    = clazz;
+    this.identity = identity;
+  }
+
+  public boolean isEmptyType()   { return values == null; }
+  public boolean isLongKeyType() { return longKeys != null; }
+  public boolean isObjectKeyType() { return keys != null; }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return a copy of the keys, so that they can be iterated while the
+   *         table is changed, which may rehash or shift the entries
+   */
+  @TruffleBoundary
+  public Object[] getKeys() {
+    Object[] result = new Object[size];
+    if (values == null) {
+      return result;
+    }
+    int i = 0;
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != null) {
+        result[i] = longKeys != null ? (Object) longKeys[slot] : keys[slot];
+        i++;
+      }
+    }
+    return result;
+  }
+
+  private static int mix(final int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int hashLong(final long key) {
+    return mix((int) (key ^ (key >>> 32)));
+  }
+
+  private int hashObject(final Object key) {
+    if (key instanceof Long) {
+      return hashLong((long) key);
+    } else if (key instanceof Double) {
+      double d = (double) key;
+      if (d == (long) d) {
+        return hashLong((long) d); // equal to the integer
+      }
+      return mix(Double.hashCode(d));
+    } else if (key instanceof SSymbol) {
+      return mix(((SSymbol) key).getHash());
+    } else if (key instanceof String && !identity) {
+      return mix(key.hashCode());
+    } else if (key instanceof BigInteger || key instanceof Boolean) {
+      return mix(key.hashCode());
+    } else if (key instanceof SObjectWithClass) {
+      return mix(((SObjectWithClass) key).getIdentityHash());
+    } else {
+      return mix(System.identityHashCode(key));
+    }
+  }
+
+  private boolean keysEqual(final Object a, final Object b) {
+    if (a == b) {
+      return true;
+    }
+    if (a instanceof Long) {
+      if (b instanceof Long) {
+        return (long) a == (long) b;
+      }
+      return b instanceof Double && (long) a == (double) b;
+    } else if (a instanceof Double) {
+      if (b instanceof Double) {
+        return (double) a == (double) b;
+      }
+      return b instanceof Long && (double) a == (long) b;
+    } else if (a instanceof BigInteger) {
+      return a.equals(b);
+    } else if (identity) {
+      return false;
+    } else if (a instanceof String) {
+      if (b instanceof String) {
+        return a.equals(b);
+      }
+      return b instanceof SSymbol && a.equals(((SSymbol) b).getString());
+    } else if (a instanceof SSymbol) {
+      return b instanceof String && ((SSymbol) a).getString().equals(b);
+    }
+    return false;
+  }
+
+  private Object normalizeKey(final Object key) {
+    if (identity) {
+      return key;
+    } else if (key instanceof SRope) {
+      return ((SRope) key).getString();
+    } else if (key instanceof SSubstring) {
+      return ((SSubstring) key).getString();
+    }
+    return key;
+  }
+
+  private int findLong(final long key) {
+    int mask = values.length - 1;
+    int i = hashLong(key) & mask;
+    while (values[i] != null) {
+      if (longKeys[i] == key) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1 - i; // the free slot for an insert
+  }
+
+  private int findObject(final Object key) {
+    int mask = values.length - 1;
+    int i = hashObject(key) & mask;
+    while (values[i] != null) {
+      if (keysEqual(keys[i], key)) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1 - i;
+  }
+
+  /** @return the value for the key, or null if there is none */
+  public Object get(final long key) {
+    if (longKeys != null) {
+      int slot = findLong(key);
+      return slot >= 0 ? values[slot] : null;
+    }
+    return get((Object) key);
+  }
+
+  /** @return the value for the key, or null if there is none */
+  @TruffleBoundary
+  public Object get(final Object key) {
+    if (values == null) {
+      return null;
+    }
+
+    Object k = normalizeKey(key);
+    if (longKeys != null) {
+      if (k instanceof Long) {
+        return get((long) k);
+      } else if (k instanceof Double && (double) k == (long) (double) k) {
+        return get((long) (double) k);
+      }
+      return null;
+    }
+
+    int slot = findObject(k);
+    return slot >= 0 ? values[slot] : null;
+  }
+
+  public void put(final long key, final Object value) {
+    assert value != null;
+    if (values == null) {
+      longKeys = new long[INITIAL_CAPACITY];
+      values   = new Object[INITIAL_CAPACITY];
+    } else if (longKeys == null) {
+      put((Object) key, value);
+      return;
+    }
+
+    int slot = findLong(key);
+    if (slot >= 0) {
+      values[slot] = value;
+      return;
+    }
+
+    slot = -1 - slot;
+    longKeys[slot] = key;
+    values[slot] = value;
+    size += 1;
+    growIfNecessary();
+  }
+
+  @TruffleBoundary
+  public void put(final Object key, final Object value) {
+    assert value != null;
+    Object k = normalizeKey(key);
+    if (k instanceof Long && (values == null || longKeys != null)) {
+      put((long) k, value);
+      return;
+    }
+
+    if (values == null) {
+      keys   = new Object[INITIAL_CAPACITY];
+      values = new Object[INITIAL_CAPACITY];
+    } else if (longKeys != null) {
+      transitionToObjectKeys();
+    }
+
+    int slot = findObject(k);
+    if (slot >= 0) {
+      values[slot] = value;
+      return;
+    }
+
+    slot = -1 - slot;
+    keys[slot] = k;
+    values[slot] = value;
+    size += 1;
+    growIfNecessary();
+  }
+
+  /** @return the removed value, or null if there was none */
+  @TruffleBoundary
+  public Object remove(final Object key) {
+    if (values == null) {
+      return null;
+    }
+
+    Object k = normalizeKey(key);
+    int slot;
+    if (longKeys != null) {
+      if (k instanceof Long) {
+        slot = findLong((long) k);
+      } else if (k instanceof Double && (double) k == (long) (double) k) {
+        slot = findLong((long) (double) k);
+      } else {
+        return null;
+      }
+    } else {
+      slot = findObject(k);
+    }
+
+    if (slot < 0) {
+      return null;
+    }
+
+    Object removed = values[slot];
+    removeSlot(slot);
+    size -= 1;
+    return removed;
+  }
+
+  private int idealSlot(final int slot) {
+    int hash = longKeys != null ? hashLong(longKeys[slot]) : hashObject(keys[slot]);
+    return hash & (values.length - 1);
+  }
+
+  /** Free the slot, and shift back the entries that probed past it. */
+  private void removeSlot(final int slot) {
+    int mask = values.length - 1;
+    int free = slot;
+    int i = slot;
+    while (true) {
+      values[free] = null;
+      if (keys != null) {
+        keys[free] = null;
+      }
+
+      while (true) {
+        i = (i + 1) & mask;
+        if (values[i] == null) {
+          return;
+        }
+
+        int ideal = idealSlot(i);
+        // the entry stays, if its ideal slot is cyclically in (free, i]
+        boolean stays = free <= i ? (free < ideal && ideal <= i)
+                                  : (free < ideal || ideal <= i);
+        if (!stays) {
+          break;
+        }
+      }
+
+      if (longKeys != null) {
+        longKeys[free] = longKeys[i];
+      } else {
+        keys[free] = keys[i];
+      }
+      values[free] = values[i];
+      free = i;
+    }
+  }
+
+  private void growIfNecessary() {
+    if (size * 4 >= values.length * 3) {
+      rehash(values.length * 2);
+    }
+  }
+
+  private void rehash(final int capacity) {
+    long[]   oldLongKeys = longKeys;
+    Object[] oldKeys     = keys;
+    Object[] oldValues   = values;
+
+    values = new Object[capacity];
+    if (oldLongKeys != null) {
+      longKeys = new long[capacity];
+      for (int i = 0; i < oldValues.length; i++) {
+        if (oldValues[i] != null) {
+          int slot = -1 - findLong(oldLongKeys[i]);
+          longKeys[slot] = oldLongKeys[i];
+          values[slot] = oldValues[i];
+        }
+      }
+    } else {
+      keys = new Object[capacity];
+      for (int i = 0; i < oldValues.length; i++) {
+        if (oldValues[i] != null) {
+          int slot = -1 - findObject(oldKeys[i]);
+          keys[slot] = oldKeys[i];
+          values[slot] = oldValues[i];
+        }
+      }
+    }
+  }
+
+  private void transitionToObjectKeys() {
+    long[]   oldLongKeys = longKeys;
+    Object[] oldValues   = values;
+
+    longKeys = null;
+    keys     = new Object[oldValues.length];
+    values   = new Object[oldValues.length];
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        Object key = oldLongKeys[i];
+        int slot = -1 - findObject(key);
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  @Override
+  public SClass getSOMClass() {
+    return clazz;
+  }
+
+  @Override
+  public boolean isValue() {
+    return false;
+  }
+}
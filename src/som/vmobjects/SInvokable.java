@@ -36,7 +36,9 @@ import som.interpreter.nodes.dispatch.Dispatchable;
 import som.interpreter.nodes.dispatch.LexicallyBoundDispatchNode;
 import som.vm.constants.Classes;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.IndirectCallNode;
@@ -46,13 +48,36 @@ public class SInvokable extends SAbstractObject implements Dispatchable {
 
   private final AccessModifier     accessModifier;
   private final SSymbol            category;
-  private final Invokable          invokable;
-  private final RootCallTarget     callTarget;
   private final SSymbol            signature;
-  private final SInvokable[]       embeddedBlocks;
+
+  @CompilationFinal private Invokable      invokable;
+  @CompilationFinal private SInvokable[]   embeddedBlocks;
+
+  /**
+   * Is written last when a lazy method is assembled, and read first, so
+   * that a thread that sees it also sees the other parts of the method.
+   */
+  @CompilationFinal private volatile RootCallTarget callTarget;
+
+  /** Is only set until the body of a lazily compiled method is assembled. */
+  private volatile LazyMethod lazyMethod;
 
   @CompilationFinal private MixinDefinition holder;
 
+  /**
+   * Assembles the body of a method on its first use, when methods are
+   * compiled lazily, see {@link som.VmSettings#LAZY_METHOD_COMPILATION}.
+   */
+  public interface LazyMethod {
+    SourceSection getSourceSection();
+
+    /**
+     * @return a method with the same signature, of which the body is used
+     *         for the lazily compiled method
+     */
+    SInvokable assemble();
+  }
+
   public SInvokable(final SSymbol signature,
       final AccessModifier accessModifier, final SSymbol category,
       final Invokable invokable, final SInvokable[] embeddedBlocks) {
@@ -61,8 +86,35 @@ public class SInvokable extends SAbstractObject implements Dispatchable {
     this.category = category;
 
     this.invokable   = invokable;
-    this.callTarget  = invokable.createCallTarget();
     this.embeddedBlocks = embeddedBlocks;
+    this.callTarget  = invokable.createCallTarget();
+  }
+
+  public SInvokable(final SSymbol signature,
+      final AccessModifier accessModifier, final SSymbol category,
+      final LazyMethod lazyMethod) {
+    this.signature = signature;
+    this.accessModifier = accessModifier;
+    this.category = category;
+    this.lazyMethod = lazyMethod;
+  }
+
+  @TruffleBoundary
+  private synchronized void assembleLazyMethod() {
+    if (callTarget != null) {
+      return;
+    }
+
+    SInvokable method = lazyMethod.assemble();
+    if (method == null) {
+      return; // the VM is exiting because of a parse error
+    }
+    assert signature == method.signature;
+
+    invokable      = method.invokable;
+    embeddedBlocks = method.embeddedBlocks;
+    callTarget     = method.callTarget; // publishes the fields above
+    lazyMethod     = null;
   }
 
   public static class SInitializer extends SInvokable {
@@ -80,6 +132,11 @@ public class SInvokable extends SAbstractObject implements Dispatchable {
   }
 
   public final SInvokable[] getEmbeddedBlocks() {
+    // primitives do not have embedded blocks
+    if (callTarget == null) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      assembleLazyMethod();
+    }
     return embeddedBlocks;
   }
 
@@ -100,10 +157,18 @@ public class SInvokable extends SAbstractObject implements Dispatchable {
   }
 
   public final RootCallTarget getCallTarget() {
+    if (callTarget == null) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      assembleLazyMethod();
+    }
     return callTarget;
   }
 
   public final Invokable getInvokable() {
+    if (callTarget == null) {
+      CompilerDirectives.transferToInterpreterAndInvalidate();
+      assembleLazyMethod();
+    }
     return invokable;
   }
 
@@ -125,12 +190,12 @@ public class SInvokable extends SAbstractObject implements Dispatchable {
   }
 
   public final Object invoke(final Object... arguments) {
-    return callTarget.call(arguments);
+    return getCallTarget().call(arguments);
   }
 
   @Override
   public final Object invoke(final IndirectCallNode node, final VirtualFrame frame, final Object... arguments) {
-    return node.call(frame, callTarget, arguments);
+    return node.call(frame, getCallTarget(), arguments);
   }
 
   @Override
@@ -152,7 +217,14 @@ public class SInvokable extends SAbstractObject implements Dispatchable {
   }
 
   public final SourceSection getSourceSection() {
-    return invokable.getSourceSection();
+    if (callTarget == null) {
+      // do not assemble a lazy method only to report on it
+      LazyMethod lazy = lazyMethod;
+      if (lazy != null) {
+        return lazy.getSourceSection();
+      }
+    }
+    return getInvokable().getSourceSection();
   }
 
   @Override
@@ -161,11 +233,11 @@ public class SInvokable extends SAbstractObject implements Dispatchable {
     assert next != null : "Pass the old node, just need the source section";
     // In case it's a private method, it is directly linked and doesn't need guards
     if (accessModifier == AccessModifier.PRIVATE) {
-      return new LexicallyBoundDispatchNode(next.getSourceSection(), callTarget);
+      return new LexicallyBoundDispatchNode(next.getSourceSection(), getCallTarget());
     }
 
     DispatchGuard guard = DispatchGuard.create(rcvr);
-    return new CachedDispatchNode(callTarget, guard, next);
+    return new CachedDispatchNode(getCallTarget(), guard, next);
   }
 
   @Override
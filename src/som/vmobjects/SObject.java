@@ -47,9 +47,49 @@ public abstract class SObject extends SObjectWithClass {
   public static final int NUM_PRIMITIVE_FIELDS = 5;
   public static final int NUM_OBJECT_FIELDS    = 5;
 
+  /** Number of inline fields of {@link SMutableObject10} and {@link SImmutableObject10}. */
+  public static final int NUM_FIELDS_MEDIUM = 10;
+
+  /** Number of inline fields of {@link SMutableObject20} and {@link SImmutableObject20}. */
+  public static final int NUM_FIELDS_LARGE  = 20;
+
+  /**
+   * Select the object variant for a class with the given number of slots.
+   * The number of slots of a class does not change, only their types do.
+   * Thus, we provide as many primitive and object fields as there are slots,
+   * and all instances of a class use the same variant independent of the
+   * current layout. Only classes with more than {@link #NUM_FIELDS_LARGE}
+   * slots still need the extension arrays.
+   *
+   * @return the number of primitive fields, which is the same as the number
+   *         of object fields, available inline in the object
+   */
+  public static int getNumberOfInlineFields(final int numberOfSlots) {
+    if (numberOfSlots <= NUM_OBJECT_FIELDS) {
+      return NUM_OBJECT_FIELDS;
+    } else if (numberOfSlots <= NUM_FIELDS_MEDIUM) {
+      return NUM_FIELDS_MEDIUM;
+    } else {
+      return NUM_FIELDS_LARGE;
+    }
+  }
+
   // TODO: when we got the possibility that we can hint to the compiler that a
   //       read is from a final field, we should remove this
-  public static final class SImmutableObject extends SObject {
+  public static class SImmutableObject extends SObject {
+
+    public static SImmutableObject create(final SClass instanceClass,
+        final ClassFactory factory, final ObjectLayout layout) {
+      int numInlineFields = layout.getNumberOfInlineFields();
+      if (numInlineFields == NUM_OBJECT_FIELDS) {
+        return new SImmutableObject(instanceClass, factory, layout);
+      } else if (numInlineFields == NUM_FIELDS_MEDIUM) {
+        return new SImmutableObject10(instanceClass, factory, layout);
+      } else {
+        assert numInlineFields == NUM_FIELDS_LARGE;
+        return new SImmutableObject20(instanceClass, factory, layout);
+      }
+    }
 
     public SImmutableObject(final SClass instanceClass, final ClassFactory classGroup, final ObjectLayout layout) {
       super(instanceClass, classGroup, layout);
@@ -67,7 +107,7 @@ public abstract class SObject extends SObjectWithClass {
     /**
      * Copy constructor.
      */
-    private SImmutableObject(final SImmutableObject old) {
+    protected SImmutableObject(final SImmutableObject old) {
       super(old);
       this.primField1 = old.primField1;
       this.primField2 = old.primField2;
@@ -102,6 +142,11 @@ public abstract class SObject extends SObjectWithClass {
       return isValue;
     }
 
+    @Override
+    public int getNumberOfInlineFields() {
+      return NUM_OBJECT_FIELDS;
+    }
+
     @Override
     public SObject cloneBasics() {
       assert !isValue : "There should not be any need to clone a value";
@@ -109,7 +154,147 @@ public abstract class SObject extends SObjectWithClass {
     }
   }
 
-  public static final class SMutableObject extends SObject {
+  public static class SImmutableObject10 extends SImmutableObject {
+    @CompilationFinal protected long   primField6;
+    @CompilationFinal protected long   primField7;
+    @CompilationFinal protected long   primField8;
+    @CompilationFinal protected long   primField9;
+    @CompilationFinal protected long   primField10;
+
+    @CompilationFinal public Object field6;
+    @CompilationFinal public Object field7;
+    @CompilationFinal public Object field8;
+    @CompilationFinal public Object field9;
+    @CompilationFinal public Object field10;
+
+    public SImmutableObject10(final SClass instanceClass, final ClassFactory classGroup, final ObjectLayout layout) {
+      super(instanceClass, classGroup, layout);
+      field6 = field7 = field8 = field9 = field10 = Nil.nilObject;
+    }
+
+    protected SImmutableObject10(final boolean incompleteDefinition,
+        final boolean isKernelObj) {
+      super(incompleteDefinition, isKernelObj);
+    }
+
+    protected SImmutableObject10(final SImmutableObject10 old) {
+      super(old);
+      this.primField6  = old.primField6;
+      this.primField7  = old.primField7;
+      this.primField8  = old.primField8;
+      this.primField9  = old.primField9;
+      this.primField10 = old.primField10;
+    }
+
+    @Override
+    protected void resetFields() {
+      super.resetFields();
+      field6 = field7 = field8 = field9 = field10 = null;
+      primField6 = primField7 = primField8 = primField9 = primField10 = Long.MIN_VALUE;
+    }
+
+    @Override
+    public int getNumberOfInlineFields() {
+      return NUM_FIELDS_MEDIUM;
+    }
+
+    @Override
+    public SObject cloneBasics() {
+      assert !isValue : "There should not be any need to clone a value";
+      return new SImmutableObject10(this);
+    }
+  }
+
+  public static final class SImmutableObject20 extends SImmutableObject10 {
+    @CompilationFinal protected long   primField11;
+    @CompilationFinal protected long   primField12;
+    @CompilationFinal protected long   primField13;
+    @CompilationFinal protected long   primField14;
+    @CompilationFinal protected long   primField15;
+    @CompilationFinal protected long   primField16;
+    @CompilationFinal protected long   primField17;
+    @CompilationFinal protected long   primField18;
+    @CompilationFinal protected long   primField19;
+    @CompilationFinal protected long   primField20;
+
+    @CompilationFinal public Object field11;
+    @CompilationFinal public Object field12;
+    @CompilationFinal public Object field13;
+    @CompilationFinal public Object field14;
+    @CompilationFinal public Object field15;
+    @CompilationFinal public Object field16;
+    @CompilationFinal public Object field17;
+    @CompilationFinal public Object field18;
+    @CompilationFinal public Object field19;
+    @CompilationFinal public Object field20;
+
+    public SImmutableObject20(final SClass instanceClass, final ClassFactory classGroup, final ObjectLayout layout) {
+      super(instanceClass, classGroup, layout);
+      field11 = field12 = field13 = field14 = field15 = Nil.nilObject;
+      field16 = field17 = field18 = field19 = field20 = Nil.nilObject;
+    }
+
+    /**
+     * The kernel object is created before its class, because it is the
+     * outer object of the kernel classes. The Kernel class has more than
+     * {@link #NUM_FIELDS_MEDIUM} slots, which is checked when the class is
+     * set, so the kernel object uses the largest variant.
+     */
+    public SImmutableObject20(final boolean incompleteDefinition,
+        final boolean isKernelObj) {
+      super(incompleteDefinition, isKernelObj);
+    }
+
+    private SImmutableObject20(final SImmutableObject20 old) {
+      super(old);
+      this.primField11 = old.primField11;
+      this.primField12 = old.primField12;
+      this.primField13 = old.primField13;
+      this.primField14 = old.primField14;
+      this.primField15 = old.primField15;
+      this.primField16 = old.primField16;
+      this.primField17 = old.primField17;
+      this.primField18 = old.primField18;
+      this.primField19 = old.primField19;
+      this.primField20 = old.primField20;
+    }
+
+    @Override
+    protected void resetFields() {
+      super.resetFields();
+      field11 = field12 = field13 = field14 = field15 = null;
+      field16 = field17 = field18 = field19 = field20 = null;
+      primField11 = primField12 = primField13 = primField14 = primField15 = Long.MIN_VALUE;
+      primField16 = primField17 = primField18 = primField19 = primField20 = Long.MIN_VALUE;
+    }
+
+    @Override
+    public int getNumberOfInlineFields() {
+      return NUM_FIELDS_LARGE;
+    }
+
+    @Override
+    public SObject cloneBasics() {
+      assert !isValue : "There should not be any need to clone a value";
+      return new SImmutableObject20(this);
+    }
+  }
+
+  public static class SMutableObject extends SObject {
+
+    public static SMutableObject create(final SClass instanceClass,
+        final ClassFactory factory, final ObjectLayout layout) {
+      int numInlineFields = layout.getNumberOfInlineFields();
+      if (numInlineFields == NUM_OBJECT_FIELDS) {
+        return new SMutableObject(instanceClass, factory, layout);
+      } else if (numInlineFields == NUM_FIELDS_MEDIUM) {
+        return new SMutableObject10(instanceClass, factory, layout);
+      } else {
+        assert numInlineFields == NUM_FIELDS_LARGE;
+        return new SMutableObject20(instanceClass, factory, layout);
+      }
+    }
+
     @SuppressWarnings("unused")  private long   primField1;
     @SuppressWarnings("unused")  private long   primField2;
     @SuppressWarnings("unused")  private long   primField3;
@@ -156,12 +341,125 @@ public abstract class SObject extends SObjectWithClass {
       return false;
     }
 
+    @Override
+    public int getNumberOfInlineFields() {
+      return NUM_OBJECT_FIELDS;
+    }
+
     @Override
     public SObject cloneBasics() {
       return new SMutableObject(this);
     }
   }
 
+  public static class SMutableObject10 extends SMutableObject {
+    @SuppressWarnings("unused")  private long   primField6;
+    @SuppressWarnings("unused")  private long   primField7;
+    @SuppressWarnings("unused")  private long   primField8;
+    @SuppressWarnings("unused")  private long   primField9;
+    @SuppressWarnings("unused")  private long   primField10;
+
+    @SuppressWarnings("unused")  private Object field6;
+    @SuppressWarnings("unused")  private Object field7;
+    @SuppressWarnings("unused")  private Object field8;
+    @SuppressWarnings("unused")  private Object field9;
+    @SuppressWarnings("unused")  private Object field10;
+
+    public SMutableObject10(final SClass instanceClass, final ClassFactory factory, final ObjectLayout layout) {
+      super(instanceClass, factory, layout);
+      field6 = field7 = field8 = field9 = field10 = Nil.nilObject;
+    }
+
+    protected SMutableObject10(final SMutableObject10 old) {
+      super(old);
+      this.primField6  = old.primField6;
+      this.primField7  = old.primField7;
+      this.primField8  = old.primField8;
+      this.primField9  = old.primField9;
+      this.primField10 = old.primField10;
+    }
+
+    @Override
+    protected void resetFields() {
+      super.resetFields();
+      field6     = field7     = field8     = field9     = field10     = null;
+      primField6 = primField7 = primField8 = primField9 = primField10 = Long.MIN_VALUE;
+    }
+
+    @Override
+    public int getNumberOfInlineFields() {
+      return NUM_FIELDS_MEDIUM;
+    }
+
+    @Override
+    public SObject cloneBasics() {
+      return new SMutableObject10(this);
+    }
+  }
+
+  public static final class SMutableObject20 extends SMutableObject10 {
+    @SuppressWarnings("unused")  private long   primField11;
+    @SuppressWarnings("unused")  private long   primField12;
+    @SuppressWarnings("unused")  private long   primField13;
+    @SuppressWarnings("unused")  private long   primField14;
+    @SuppressWarnings("unused")  private long   primField15;
+    @SuppressWarnings("unused")  private long   primField16;
+    @SuppressWarnings("unused")  private long   primField17;
+    @SuppressWarnings("unused")  private long   primField18;
+    @SuppressWarnings("unused")  private long   primField19;
+    @SuppressWarnings("unused")  private long   primField20;
+
+    @SuppressWarnings("unused")  private Object field11;
+    @SuppressWarnings("unused")  private Object field12;
+    @SuppressWarnings("unused")  private Object field13;
+    @SuppressWarnings("unused")  private Object field14;
+    @SuppressWarnings("unused")  private Object field15;
+    @SuppressWarnings("unused")  private Object field16;
+    @SuppressWarnings("unused")  private Object field17;
+    @SuppressWarnings("unused")  private Object field18;
+    @SuppressWarnings("unused")  private Object field19;
+    @SuppressWarnings("unused")  private Object field20;
+
+    public SMutableObject20(final SClass instanceClass, final ClassFactory factory, final ObjectLayout layout) {
+      super(instanceClass, factory, layout);
+      field11 = field12 = field13 = field14 = field15 = Nil.nilObject;
+      field16 = field17 = field18 = field19 = field20 = Nil.nilObject;
+    }
+
+    private SMutableObject20(final SMutableObject20 old) {
+      super(old);
+      this.primField11 = old.primField11;
+      this.primField12 = old.primField12;
+      this.primField13 = old.primField13;
+      this.primField14 = old.primField14;
+      this.primField15 = old.primField15;
+      this.primField16 = old.primField16;
+      this.primField17 = old.primField17;
+      this.primField18 = old.primField18;
+      this.primField19 = old.primField19;
+      this.primField20 = old.primField20;
+    }
+
+    @Override
+    protected void resetFields() {
+      super.resetFields();
+      field11     = field12     = field13     = field14     = field15     = null;
+      field16     = field17     = field18     = field19     = field20     = null;
+      primField11 = primField12 = primField13 = primField14 = primField15 = Long.MIN_VALUE;
+      primField16 = primField17 = primField18 = primField19 = primField20 = Long.MIN_VALUE;
+    }
+
+    @Override
+    public int getNumberOfInlineFields() {
+      return NUM_FIELDS_LARGE;
+    }
+
+    @Override
+    public SObject cloneBasics() {
+      return new SMutableObject20(this);
+    }
+  }
+
   // TODO: if there is the possibility that we can hint that a read is from a
   //       final field, we should reconsider removing these and store them in
   //       normal object fields
@@ -212,6 +510,12 @@ public abstract class SObject extends SObjectWithClass {
    */
   public abstract SObject cloneBasics();
 
+  /**
+   * @return number of primitive and object fields that are part of the object
+   *         itself, i.e., that do not require the extension arrays
+   */
+  public abstract int getNumberOfInlineFields();
+
   public boolean isPrimitiveSet(final int mask) {
     return (primitiveUsedMap & mask) != 0;
   }
@@ -226,6 +530,7 @@ public abstract class SObject extends SObjectWithClass {
 
   private void setLayoutInitially(final ObjectLayout layout) {
     CompilerAsserts.partialEvaluationConstant(layout);
+    assert layout.getNumberOfInlineFields() == getNumberOfInlineFields() : "Object variant does not match the layout of its class";
     objectLayout        = layout;
     extensionPrimFields = getExtendedPrimStorage(layout);
     extensionObjFields  = getExtendedObjectStorage(layout);
@@ -355,19 +660,26 @@ public abstract class SObject extends SObjectWithClass {
     setLayoutAndTransferFields();
   }
 
-  private static final long FIRST_OBJECT_FIELD_OFFSET = getFirstObjectFieldOffset();
-  private static final long FIRST_PRIM_FIELD_OFFSET   = getFirstPrimFieldOffset();
-  private static final long OBJECT_FIELD_LENGTH = getObjectFieldLength();
-  private static final long PRIM_FIELD_LENGTH   = getPrimFieldLength();
+  private static final long[] OBJECT_FIELD_OFFSETS = getFieldOffsets(SMutableObject20.class, "field");
+  private static final long[] PRIM_FIELD_OFFSETS   = getFieldOffsets(SMutableObject20.class, "primField");
+
+  static {
+    // the storage locations use the same offsets for mutable and immutable
+    // objects, writing with wrong offsets would corrupt the heap
+    if (!Arrays.equals(OBJECT_FIELD_OFFSETS, getFieldOffsets(SImmutableObject20.class, "field")) ||
+        !Arrays.equals(PRIM_FIELD_OFFSETS, getFieldOffsets(SImmutableObject20.class, "primField"))) {
+      throw new IllegalStateException("Field layout of SMutableObject20 and SImmutableObject20 are expected to be the same");
+    }
+  }
 
   public static long getObjectFieldOffset(final int fieldIndex) {
-    assert 0 <= fieldIndex && fieldIndex < NUM_OBJECT_FIELDS;
-    return FIRST_OBJECT_FIELD_OFFSET + fieldIndex * OBJECT_FIELD_LENGTH;
+    assert 0 <= fieldIndex && fieldIndex < NUM_FIELDS_LARGE;
+    return OBJECT_FIELD_OFFSETS[fieldIndex];
   }
 
   public static long getPrimitiveFieldOffset(final int fieldIndex) {
-    assert 0 <= fieldIndex && fieldIndex < NUM_PRIMITIVE_FIELDS;
-    return FIRST_PRIM_FIELD_OFFSET + fieldIndex * PRIM_FIELD_LENGTH;
+    assert 0 <= fieldIndex && fieldIndex < NUM_FIELDS_LARGE;
+    return PRIM_FIELD_OFFSETS[fieldIndex];
   }
 
   public static int getPrimitiveFieldMask(final int fieldIndex) {
@@ -411,58 +723,32 @@ public abstract class SObject extends SObjectWithClass {
     location.write(this, value);
   }
 
-  private static long getFirstObjectFieldOffset() {
-    CompilerAsserts.neverPartOfCompilation("SObject.getFirstObjectFieldOffset()");
-    try {
-      final Field firstField = SMutableObject.class.getDeclaredField("field1");
-      return StorageLocation.getFieldOffset(firstField);
-    } catch (NoSuchFieldException e) {
-      throw new RuntimeException(e);
-    }
-  }
-
-  private static long getFirstPrimFieldOffset() {
-    CompilerAsserts.neverPartOfCompilation("SObject.getFirstPrimFieldOffset()");
-    try {
-      final Field firstField = SMutableObject.class.getDeclaredField("primField1");
-      return StorageLocation.getFieldOffset(firstField);
-    } catch (NoSuchFieldException e) {
-      throw new RuntimeException(e);
-    }
-  }
-
-  private static long getObjectFieldLength() {
-    CompilerAsserts.neverPartOfCompilation("getObjectFieldLength()");
-
-    try {
-      long dist = getFieldDistance("field1", "field2");
-      // this can go wrong if the VM rearranges fields to fill holes in the
-      // memory layout of the object structure
-      assert dist == 4 || dist == 8 : "We expect these fields to be adjecent and either 32 or 64bit appart.";
-      return dist;
-    } catch (NoSuchFieldException | IllegalAccessException e) {
-      throw new RuntimeException(e);
+  /**
+   * Determine the offsets of the fields {@code prefix1} to {@code prefixN}.
+   * The fields are distributed over the class hierarchy of the variants, and
+   * the VM is free to reorder them, so we look each one up individually.
+   */
+  private static long[] getFieldOffsets(final Class<?> largestVariant,
+      final String prefix) {
+    CompilerAsserts.neverPartOfCompilation("SObject.getFieldOffsets(..)");
+    long[] offsets = new long[NUM_FIELDS_LARGE];
+    for (int i = 0; i < offsets.length; i++) {
+      offsets[i] = StorageLocation.getFieldOffset(
+          getDeclaredField(largestVariant, prefix + (i + 1)));
     }
+    return offsets;
   }
 
-  private static long getPrimFieldLength() {
-    CompilerAsserts.neverPartOfCompilation("getPrimFieldLength()");
-
-    try {
-      long dist = getFieldDistance("primField1", "primField2");
-      // this can go wrong if the VM rearranges fields to fill holes in the
-      // memory layout of the object structure
-      assert dist == 8 : "We expect these fields to be adjecent and 64bit appart.";
-      return dist;
-    } catch (NoSuchFieldException | IllegalAccessException e) {
-      throw new RuntimeException(e);
+  private static Field getDeclaredField(final Class<?> variant,
+      final String fieldName) {
+    Class<?> cls = variant;
+    while (cls != null) {
+      try {
+        return cls.getDeclaredField(fieldName);
+      } catch (NoSuchFieldException e) {
+        cls = cls.getSuperclass();
+      }
     }
-  }
-
-  private static long getFieldDistance(final String field1, final String field2) throws NoSuchFieldException,
-      IllegalAccessException {
-    final Field firstField  = SMutableObject.class.getDeclaredField(field1);
-    final Field secondField = SMutableObject.class.getDeclaredField(field2);
-    return StorageLocation.getFieldOffset(secondField) - StorageLocation.getFieldOffset(firstField);
+    throw new RuntimeException("Field " + fieldName + " not found in " + variant.getName());
   }
 }
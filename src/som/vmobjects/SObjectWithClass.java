@@ -1,16 +1,41 @@
 package som.vmobjects;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import som.interpreter.objectstorage.ClassFactory;
+import som.interpreter.objectstorage.StorageLocation;
 import som.vm.ObjectSystem;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 
 public abstract class SObjectWithClass extends SAbstractObject {
   @CompilationFinal protected SClass       clazz;
   @CompilationFinal protected ClassFactory classGroup; // the factory by which clazz was created
 
+  /**
+   * The identity hash, which is assigned on first use. It is stored in the
+   * object, instead of using the JVM identity hash, which inflates the
+   * object header. 0 means that no hash was assigned yet.
+   *
+   * <p>The field is read plainly, a hash never changes once it is set.
+   * Only the first assignment uses a compare-and-swap.
+   */
+  private int identityHash;
+
+  private static final long IDENTITY_HASH_OFFSET = getIdentityHashOffset();
+
+  private static long getIdentityHashOffset() {
+    try {
+      return StorageLocation.getFieldOffset(
+          SObjectWithClass.class.getDeclaredField("identityHash"));
+    } catch (NoSuchFieldException | SecurityException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public SObjectWithClass(final SClass clazz, final ClassFactory classGroup) {
     this.clazz      = clazz;
     this.classGroup = classGroup;
@@ -30,6 +55,28 @@ public abstract class SObjectWithClass extends SAbstractObject {
     return clazz;
   }
 
+  public final int getIdentityHash() {
+    int hash = identityHash;
+    if (hash != 0) {
+      return hash;
+    }
+    return assignIdentityHash();
+  }
+
+  @TruffleBoundary
+  private int assignIdentityHash() {
+    int hash;
+    do {
+      hash = ThreadLocalRandom.current().nextInt();
+    } while (hash == 0);
+
+    // another actor might have assigned a hash concurrently
+    if (StorageLocation.compareAndSwapInt(this, IDENTITY_HASH_OFFSET, 0, hash)) {
+      return hash;
+    }
+    return StorageLocation.getIntVolatile(this, IDENTITY_HASH_OFFSET);
+  }
+
   public final ClassFactory getFactory() {
     assert classGroup != null;
     return classGroup;
@@ -0,0 +1,146 @@
+package som.vmobjects;
+
+import java.util.ArrayDeque;
+
+import som.vm.constants.Classes;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * A string that is the concatenation of two strings. The characters are
+ * only copied into a flat string when they are needed, for instance to
+ * compare, hash, or print the string. Thus, building a string by repeated
+ * concatenation is linear instead of quadratic in its length.
+ *
+ * <p>Ropes are instances of the String class, and primitives that expect a
+ * {@link String} get the flattened string by an implicit cast.
+ * The parts of a rope are either Strings, or ropes themselves.
+ */
+public final class SRope extends SAbstractObject {
+
+  /** Results of concatenations shorter than this are copied eagerly. */
+  public static final int MIN_LENGTH = 64;
+
+  /**
+   * The parts are cleared once the rope is flattened, so that they can be
+   * collected. The fields are volatile, because a rope may be flattened by
+   * one thread while another one traverses it. A thread that sees a cleared
+   * part, is guaranteed to see the flattened string.
+   */
+  private volatile Object left;
+  private volatile Object right;
+  private final int length;
+
+  /** The flattened string, set on first use. */
+  private volatile String flat;
+
+  private SRope(final Object left, final Object right, final int length) {
+    this.left   = left;
+    this.right  = right;
+    this.length = length;
+  }
+
+  /**
+   * @param left a String or an SRope
+   * @param right a String or an SRope
+   * @return a String, or an SRope for long results
+   */
+  @TruffleBoundary
+  public static Object concat(final Object left, final Object right) {
+    int leftLength  = length(left);
+    int rightLength = length(right);
+    if (leftLength == 0) {
+      return right;
+    } else if (rightLength == 0) {
+      return left;
+    }
+
+    int length = leftLength + rightLength;
+    if (length < MIN_LENGTH) {
+      return flatten(left).concat(flatten(right));
+    }
+    return new SRope(left, right, length);
+  }
+
+  private static int length(final Object part) {
+    if (part instanceof SRope) {
+      return ((SRope) part).length;
+    }
+    return ((String) part).length();
+  }
+
+  private static String flatten(final Object part) {
+    if (part instanceof SRope) {
+      return ((SRope) part).getString();
+    }
+    return (String) part;
+  }
+
+  public int length() {
+    return length;
+  }
+
+  @TruffleBoundary
+  public String getString() {
+    String result = flat;
+    if (result == null) {
+      StringBuilder sb = new StringBuilder(length);
+      appendTo(sb);
+      result = sb.toString();
+      flat  = result;
+      left  = null;
+      right = null;
+    }
+    return result;
+  }
+
+  /**
+   * Append the characters to the given builder, without flattening the
+   * rope. The traversal is iterative, because repeated concatenation
+   * results in deep ropes.
+   */
+  @TruffleBoundary
+  public void appendTo(final StringBuilder sb) {
+    ArrayDeque<Object> parts = new ArrayDeque<>();
+    parts.push(this);
+    while (!parts.isEmpty()) {
+      Object part = parts.pop();
+      if (part instanceof String) {
+        sb.append((String) part);
+      } else {
+        SRope rope = (SRope) part;
+        String ropeFlat = rope.flat;
+        if (ropeFlat != null) {
+          sb.append(ropeFlat);
+          continue;
+        }
+
+        Object ropeLeft  = rope.left;
+        Object ropeRight = rope.right;
+        if (ropeLeft == null || ropeRight == null) {
+          // flattened concurrently
+          sb.append(rope.flat);
+        } else {
+          parts.push(ropeRight);
+          parts.push(ropeLeft);
+        }
+      }
+    }
+  }
+
+  @Override
+  public SClass getSOMClass() {
+    return Classes.stringClass;
+  }
+
+  @Override
+  public boolean isValue() {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return getString();
+  }
+}
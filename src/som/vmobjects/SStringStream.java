@@ -0,0 +1,67 @@
+package som.vmobjects;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * A mutable buffer to build strings, which is used by the StringStream
+ * class of the core library.
+ */
+public final class SStringStream extends SAbstractObject {
+  private final SClass        clazz;
+  private final StringBuilder builder;
+
+  public SStringStream(final SClass clazz) {
+    this.clazz   = clazz;
+    this.builder = new StringBuilder();
+  }
+
+  @TruffleBoundary
+  public void append(final String str) {
+    builder.append(str);
+  }
+
+  @TruffleBoundary
+  public void append(final SRope rope) {
+    rope.appendTo(builder);
+  }
+
+  @TruffleBoundary
+  public void append(final SSubstring substring) {
+    substring.appendTo(builder);
+  }
+
+  @TruffleBoundary
+  public void append(final long value) {
+    builder.append(value);
+  }
+
+  @TruffleBoundary
+  public void append(final double value) {
+    builder.append(value);
+  }
+
+  @TruffleBoundary
+  public String getContents() {
+    return builder.toString();
+  }
+
+  public int size() {
+    return builder.length();
+  }
+
+  @TruffleBoundary
+  public void reset() {
+    builder.setLength(0);
+  }
+
+  @Override
+  public SClass getSOMClass() {
+    return clazz;
+  }
+
+  @Override
+  public boolean isValue() {
+    return false;
+  }
+}
@@ -0,0 +1,135 @@
+package som.vmobjects;
+
+import som.vm.constants.Classes;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * A substring that shares the characters of the string it was taken from.
+ * The characters are only copied when they are needed, for instance to
+ * compare, hash, or print the substring.
+ *
+ * <p>Like {@link SRope}, substrings are instances of the String class,
+ * and primitives that expect a {@link String} get the copied characters
+ * by an implicit cast. A substring of a substring refers to the original
+ * string. As long as a substring is not materialized, it keeps the
+ * original string alive. Short substrings are copied eagerly, because they
+ * would keep a large string alive for little gain.
+ */
+public final class SSubstring extends SAbstractObject {
+
+  /** Substrings shorter than this are copied eagerly. */
+  public static final int MIN_LENGTH = 64;
+
+  /**
+   * The original string is cleared once the substring is materialized, so
+   * that it can be collected. As for {@link SRope}, the fields are volatile
+   * so that a thread that sees the cleared base also sees the copy.
+   */
+  private volatile String base;
+  private final int offset;
+  private final int length;
+
+  /** The copied characters, set on first use. */
+  private volatile String materialized;
+
+  public SSubstring(final String base, final int offset, final int length) {
+    assert 0 <= offset && offset + length <= base.length();
+    this.base   = base;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * @param base the string to take the characters from
+   * @param start first index, 0-based and inclusive
+   * @param end last index, exclusive
+   * @return the base for the full range, a copy for short substrings, and
+   *         otherwise an SSubstring
+   */
+  @TruffleBoundary
+  public static Object create(final String base, final int start, final int end) {
+    assert 0 <= start && start <= end && end <= base.length();
+    int length = end - start;
+    if (length == base.length()) {
+      return base;
+    } else if (length < MIN_LENGTH) {
+      return base.substring(start, end);
+    }
+    return new SSubstring(base, start, length);
+  }
+
+  /**
+   * @param start first index, 0-based and inclusive
+   * @param end last index, exclusive
+   * @return a String or an SSubstring, see {@link #create(String, int, int)}
+   */
+  public Object substring(final int start, final int end) {
+    assert 0 <= start && start <= end && end <= length;
+    String str = materialized;
+    if (str != null) {
+      return create(str, start, end);
+    }
+
+    String b = base;
+    if (b == null) {
+      // materialized concurrently
+      return create(materialized, start, end);
+    }
+    return create(b, offset + start, offset + end);
+  }
+
+  public int length() {
+    return length;
+  }
+
+  /** Append the characters to the given builder, without materializing. */
+  @TruffleBoundary
+  public void appendTo(final StringBuilder sb) {
+    String str = materialized;
+    if (str != null) {
+      sb.append(str);
+      return;
+    }
+
+    String b = base;
+    if (b == null) {
+      // materialized concurrently
+      sb.append(materialized);
+    } else {
+      sb.append(b, offset, offset + length);
+    }
+  }
+
+  @TruffleBoundary
+  public String getString() {
+    String result = materialized;
+    if (result == null) {
+      String b = base;
+      if (b == null) {
+        // materialized concurrently
+        return materialized;
+      }
+      result = b.substring(offset, offset + length);
+      materialized = result;
+      base = null;
+    }
+    return result;
+  }
+
+  @Override
+  public SClass getSOMClass() {
+    return Classes.stringClass;
+  }
+
+  @Override
+  public boolean isValue() {
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return getString();
+  }
+}
@@ -29,10 +29,12 @@ import som.vm.constants.Classes;
 public final class SSymbol extends SAbstractObject {
   private final String string;
   private final int    numberOfSignatureArguments;
+  private final int    hash;
 
   public SSymbol(final String value) {
     string = value;
     numberOfSignatureArguments = determineNumberOfSignatureArguments();
+    hash = value.hashCode();
   }
 
   @Override
@@ -74,6 +76,11 @@ public final class SSymbol extends SAbstractObject {
     return "#" + string;
   }
 
+  /** @return the hash of the string, so that symbols and equal strings hash alike */
+  public int getHash() {
+    return hash;
+  }
+
   public int getNumberOfSignatureArguments() {
     return numberOfSignatureArguments;
   }
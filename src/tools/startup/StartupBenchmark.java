@@ -0,0 +1,98 @@
+package tools.startup;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Starts the VM repeatedly in a fresh JVM and records the distribution of
+ * the wall-clock time it takes until the process exits.
+ *
+ * <p>Arguments: number of runs, CSV file to which a summary line is
+ * appended, and the arguments for the VM, for instance a hello world
+ * program. The VM runs with the class path of this JVM, and with its
+ * <code>som.*</code> system properties, for instance
+ * <code>-Dsom.tokenCache=build/tokens</code>.
+ */
+public final class StartupBenchmark {
+
+  private StartupBenchmark() { }
+
+  public static void main(final String[] args) throws IOException, InterruptedException {
+    if (args.length < 3) {
+      // Checkstyle: stop
+      System.err.println("Usage: StartupBenchmark numRuns results.csv vm-arguments...");
+      // Checkstyle: resume
+      System.exit(1);
+    }
+
+    int numRuns = Integer.parseInt(args[0]);
+    File results = new File(args[1]);
+
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    for (String name : System.getProperties().stringPropertyNames()) {
+      if (name.startsWith("som.")) {
+        command.add("-D" + name + "=" + System.getProperty(name));
+      }
+    }
+    command.add("som.VM");
+    command.addAll(Arrays.asList(args).subList(2, args.length));
+
+    double[] millis = new double[numRuns];
+    for (int i = 0; i < numRuns; i++) {
+      long start = System.nanoTime();
+      Process vm = new ProcessBuilder(command).inheritIO().start();
+      int exitCode = vm.waitFor();
+      millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+
+      if (exitCode != 0) {
+        throw new IllegalStateException("VM exited with " + exitCode + " in run " + i);
+      }
+    }
+
+    Arrays.sort(millis);
+    String summary = String.format("%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f",
+        LocalDateTime.now(), numRuns, millis[0], percentile(millis, 0.5),
+        mean(millis), percentile(millis, 0.9), millis[numRuns - 1]);
+
+    boolean isNew = !results.exists();
+    if (results.getParentFile() != null) {
+      results.getParentFile().mkdirs();
+    }
+    try (PrintWriter out = new PrintWriter(new FileWriter(results, true))) {
+      if (isNew) {
+        out.println("date,runs,min,median,mean,p90,max");
+      }
+      out.println(summary);
+    }
+
+    // Checkstyle: stop
+    System.out.println("Startup time in ms (min, median, mean, p90, max): "
+        + String.format("%.1f, %.1f, %.1f, %.1f, %.1f", millis[0],
+            percentile(millis, 0.5), mean(millis), percentile(millis, 0.9),
+            millis[numRuns - 1]));
+    // Checkstyle: resume
+  }
+
+  private static double percentile(final double[] sorted, final double p) {
+    int idx = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+  }
+
+  private static double mean(final double[] values) {
+    double sum = 0;
+    for (double v : values) {
+      sum += v;
+    }
+    return sum / values.length;
+  }
+}
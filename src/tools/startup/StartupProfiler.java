@@ -0,0 +1,122 @@
+package tools.startup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+
+import som.VM;
+import som.VmSettings;
+
+
+/**
+ * Measures the phases of VM startup, which is enabled with
+ * <code>-Dsom.startupProfile=true</code>.
+ *
+ * <p>A phase lasts until the next one is entered. The first phase covers
+ * JVM and Truffle initialization, which happens before the VM is created.
+ * The last phase is the execution of the application, which ends when
+ * the report is printed at exit.
+ *
+ * <p>Allocation is measured for the thread that entered a phase. Thus,
+ * modules parsed in parallel and code executed by other actors are not
+ * included.
+ */
+public final class StartupProfiler {
+
+  private static final class Phase {
+    private final String name;
+    private final long   threadId;
+    private final long   startNanos;
+    private final long   startBytes;
+
+    private long durationNanos = -1;
+    private long allocatedBytes = -1;
+
+    Phase(final String name, final long threadId, final long startNanos,
+        final long startBytes) {
+      this.name       = name;
+      this.threadId   = threadId;
+      this.startNanos = startNanos;
+      this.startBytes = startBytes;
+    }
+
+    void end(final long endNanos) {
+      durationNanos  = endNanos - startNanos;
+      allocatedBytes = endBytes();
+    }
+
+    private long endBytes() {
+      long bytes = allocatedBytes(threadId);
+      if (bytes < 0 || startBytes < 0) {
+        return -1; // thread is gone, or allocation is not measured
+      }
+      return bytes - startBytes;
+    }
+  }
+
+  private static final ArrayList<Phase> phases = new ArrayList<>();
+
+  private StartupProfiler() { }
+
+  public static void registerReportAtExit() {
+    Runtime.getRuntime().addShutdownHook(new Thread(StartupProfiler::report));
+  }
+
+  /** End the current phase and start the given one. */
+  public static synchronized void enterPhase(final String name) {
+    if (!VmSettings.STARTUP_PROFILE) {
+      return;
+    }
+
+    long now = System.nanoTime();
+    long threadId = Thread.currentThread().getId();
+
+    if (phases.isEmpty()) {
+      // everything before the first phase was JVM and Truffle initialization
+      long uptimeNanos = ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+      Phase init = new Phase("JVM and Truffle initialization", threadId,
+          now - uptimeNanos, 0);
+      init.end(now);
+      phases.add(init);
+    } else {
+      phases.get(phases.size() - 1).end(now);
+    }
+
+    phases.add(new Phase(name, threadId, now, allocatedBytes(threadId)));
+  }
+
+  private static long allocatedBytes(final long threadId) {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(threadId);
+    }
+    return -1;
+  }
+
+  public static synchronized void report() {
+    if (phases.isEmpty()) {
+      return;
+    }
+
+    Phase last = phases.get(phases.size() - 1);
+    if (last.durationNanos < 0) {
+      last.end(System.nanoTime());
+    }
+
+    VM.println("[Startup Profile]");
+    long total = 0;
+    for (Phase p : phases) {
+      total += p.durationNanos;
+      VM.println(String.format("%-40s %10.2f ms %12s",
+          p.name, p.durationNanos / 1_000_000.0, formatBytes(p.allocatedBytes)));
+    }
+    VM.println(String.format("%-40s %10.2f ms", "total", total / 1_000_000.0));
+  }
+
+  private static String formatBytes(final long bytes) {
+    if (bytes < 0) {
+      return "n/a";
+    }
+    return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+  }
+}
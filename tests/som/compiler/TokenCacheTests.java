@@ -0,0 +1,93 @@
+package som.compiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import som.compiler.Lexer.RecordedTokens;
+import som.compiler.Lexer.SourceCoordinate;
+
+
+public class TokenCacheTests {
+
+  private static final String MODULE =
+      "(* A module (* with a nested *) comment. *)\n"
+    + "class Test usingPlatform: platform = Value ()(\n"
+    + "  public run: a with: b = (\n"
+    + "    | s ::= 'it''s\\n'. |\n"
+    + "    s:: a + 1.5e3 <-: b.\n"
+    + "    ^ #foo:bar: , s\n"
+    + "  )\n"
+    + ")\n";
+
+  /** Requests tokens like the parser, including peeks and comment parts. */
+  private static List<String> lexAll(final Lexer lexer) {
+    List<String> result = new ArrayList<>();
+    Symbol sym;
+    do {
+      sym = lexer.getSym();
+      result.add(describe(lexer, sym));
+
+      if (sym == Symbol.BeginComment) {
+        result.add(lexer.getCommentPart());
+      } else if (sym == Symbol.Identifier) {
+        Lexer.Peek peek = lexer.peek();
+        result.add(peek.nextSym + " " + peek.nextText);
+      }
+    } while (sym != Symbol.NONE);
+    return result;
+  }
+
+  private static String describe(final Lexer lexer, final Symbol sym) {
+    SourceCoordinate coord = lexer.getStartCoordinate();
+    return sym + " " + lexer.getText() + " " + coord.startLine + ":"
+        + coord.startColumn + ":" + coord.charIndex + ":" + coord.lastNonWhiteIdx
+        + " " + lexer.getCurrentLineNumber() + ":" + lexer.getCurrentColumn()
+        + " " + lexer.getNumberOfCharactersRead()
+        + " " + lexer.getNumberOfNonWhiteCharsRead();
+  }
+
+  @Test
+  public void testReplayProducesTheLexedTokens() {
+    char[] content = MODULE.toCharArray();
+    Lexer recording = Lexer.recording(content);
+    List<String> expected = lexAll(recording);
+
+    RecordedTokens recorded = recording.getRecordedTokens();
+    RecordedTokens tokens = new RecordedTokens(recorded.getBuffer(), recorded.getLength());
+
+    assertEquals(expected, lexAll(new Lexer(MODULE)));
+    assertEquals(expected, lexAll(Lexer.replaying(content, tokens)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testReplayOfDifferentRequestsFails() {
+    char[] content = MODULE.toCharArray();
+    Lexer recording = Lexer.recording(content);
+    lexAll(recording);
+
+    RecordedTokens recorded = recording.getRecordedTokens();
+    Lexer replaying = Lexer.replaying(content,
+        new RecordedTokens(recorded.getBuffer(), recorded.getLength()));
+
+    // the recording starts with a comment, not with a comment part
+    replaying.getCommentPart();
+  }
+
+  @Test
+  public void testKeyDependsOnContent() {
+    assertEquals(TokenCache.getKey(MODULE), TokenCache.getKey(new String(MODULE)));
+    assertNotEquals(TokenCache.getKey(MODULE), TokenCache.getKey(MODULE + " "));
+    assertNotEquals(TokenCache.getKey(MODULE), TokenCache.getKey(MODULE.replace('a', 'b')));
+  }
+
+  @Test
+  public void testLexerWithoutCacheDoesNotRecord() {
+    assertNull(new Lexer(MODULE).getRecordedTokens());
+  }
+}
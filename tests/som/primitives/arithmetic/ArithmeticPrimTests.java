@@ -0,0 +1,108 @@
+package som.primitives.arithmetic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import som.primitives.EqualsPrim;
+import som.primitives.EqualsPrimFactory;
+import som.primitives.UnequalsPrim;
+import som.primitives.UnequalsPrimFactory;
+
+
+public class ArithmeticPrimTests {
+
+  /** 2^64, which is exact as a double. */
+  private static final BigInteger TWO_64 = BigInteger.ONE.shiftLeft(64);
+
+  /** 2^64 + 1, which rounds to 2^64 as a double. */
+  private static final BigInteger TWO_64_PLUS_1 = TWO_64.add(BigInteger.ONE);
+
+  private static final long[] VALUES = {
+    0, 1, -1, 42, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE / 3,
+    1L << 32, -(1L << 32), 0xFFFFFFFFL, 0x123456789ABCDEFL};
+
+  @Test
+  public void testMultiplyHighMatchesBigInteger() {
+    for (long x : VALUES) {
+      for (long y : VALUES) {
+        BigInteger expected = BigInteger.valueOf(x).multiply(BigInteger.valueOf(y));
+        assertEquals(expected.shiftRight(64).longValue(), ArithmeticPrim.multiplyHigh(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testFromInt128ReducesToLong() {
+    assertEquals(-1L, ArithmeticPrim.fromInt128(-1, -1));
+    assertEquals(Long.MAX_VALUE, ArithmeticPrim.fromInt128(0, Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testFromInt128ResultsInBigInteger() {
+    assertEquals(BigInteger.ONE.shiftLeft(63), ArithmeticPrim.fromInt128(0, Long.MIN_VALUE));
+    assertEquals(BigInteger.ONE.shiftLeft(64).negate(), ArithmeticPrim.fromInt128(-1, 0));
+  }
+
+  @Test
+  public void testDoubleDivOfMixedTypes() {
+    DoubleDivPrim div = DoubleDivPrimFactory.create(null, null, null);
+    assertEquals(2.5, div.doLong(5, 2.0), 0.0);
+    assertEquals(0.5, div.doDouble(1.0, 2L), 0.0);
+    assertEquals(0x1p63, div.doBigInteger(TWO_64, 2.0), 0.0);
+    assertEquals(0x1p-64, div.doLong(1, TWO_64), 0.0);
+    assertEquals(0x1p64, div.doBigInteger(TWO_64, 1L), 0.0);
+    assertEquals(1.0, div.doBigInteger(TWO_64_PLUS_1, TWO_64), 0.0);
+    assertEquals(0x1p-64, div.doDouble(1.0, TWO_64), 0.0);
+  }
+
+  @Test
+  public void testLessThanOfMixedTypes() {
+    LessThanPrim lt = LessThanPrimFactory.create(null, null, null);
+    assertTrue(lt.doLong(1, 1.5));
+    assertFalse(lt.doDouble(1.5, 1L));
+    assertTrue(lt.doLong(Long.MAX_VALUE, TWO_64));
+    assertTrue(lt.doBigInteger(TWO_64, 0x1p65));
+    assertTrue(lt.doDouble(-0x1p65, TWO_64));
+  }
+
+  @Test
+  public void testEqualsOfMixedTypes() {
+    EqualsPrim eq = EqualsPrimFactory.create(null, null, null);
+    assertTrue(eq.doLong(2, 2.0));
+    assertFalse(eq.doLong(2, TWO_64));
+    assertTrue(eq.doBigInteger(TWO_64, 0x1p64));
+    assertTrue(eq.doDouble(0x1p64, TWO_64));
+
+    UnequalsPrim ne = UnequalsPrimFactory.create(null, null, null);
+    assertFalse(ne.doLong(2, 2.0));
+    assertTrue(ne.doLong(2, TWO_64));
+    assertFalse(ne.doBigInteger(TWO_64, 0x1p64));
+    assertTrue(ne.doDouble(1.5, TWO_64));
+  }
+
+  /**
+   * Large integers are compared to doubles by converting them to doubles,
+   * like longs are. Integers that are not exactly representable round to
+   * the nearest double.
+   */
+  @Test
+  public void testBigIntegerLosesPrecisionAsDouble() {
+    LessThanPrim lt = LessThanPrimFactory.create(null, null, null);
+    EqualsPrim   eq = EqualsPrimFactory.create(null, null, null);
+    UnequalsPrim ne = UnequalsPrimFactory.create(null, null, null);
+    DoubleDivPrim div = DoubleDivPrimFactory.create(null, null, null);
+
+    assertFalse(lt.doDouble(0x1p64, TWO_64_PLUS_1));
+    assertTrue(eq.doBigInteger(TWO_64_PLUS_1, 0x1p64));
+    assertFalse(ne.doBigInteger(TWO_64_PLUS_1, 0x1p64));
+    assertEquals(1.0, div.doBigInteger(TWO_64_PLUS_1, 0x1p64), 0.0);
+
+    // the exact comparison of two large integers is not affected
+    assertTrue(lt.doBigInteger(TWO_64, TWO_64_PLUS_1));
+  }
+}
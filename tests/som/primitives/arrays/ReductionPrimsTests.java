@@ -0,0 +1,98 @@
+package som.primitives.arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import som.vm.constants.Nil;
+
+
+public class ReductionPrimsTests {
+
+  @Test
+  public void testSumOfEachStorage() {
+    assertEquals(6L, ReductionPrims.sum(new long[] {1, 2, 3}));
+    assertEquals(510L, ReductionPrims.sum(new byte[] {(byte) 255, (byte) 255}));
+    assertEquals(-1L, ReductionPrims.sum(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE}));
+    assertEquals(1.5, ReductionPrims.sum(new double[] {1.0, 0.5}), 0.0);
+  }
+
+  @Test
+  public void testSumOfEmptyStorage() {
+    assertEquals(0L, ReductionPrims.sum(new long[0]));
+    assertEquals(0L, ReductionPrims.sum(new byte[0]));
+    assertEquals(0L, ReductionPrims.sum(new int[0]));
+    assertEquals(0.0, ReductionPrims.sum(new double[0]), 0.0);
+  }
+
+  @Test
+  public void testSumOverflowsToBigInteger() {
+    BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+    assertEquals(expected, ReductionPrims.sum(new long[] {Long.MAX_VALUE, 1}));
+  }
+
+  @Test
+  public void testMinAndMaxOfEachStorage() {
+    assertEquals(-3L, ReductionPrims.min(new long[] {1, -3, 2}));
+    assertEquals(3L,  ReductionPrims.max(new long[] {1, 3, 2}));
+    assertEquals(1L,   ReductionPrims.min(new byte[] {(byte) 200, 1}));
+    assertEquals(200L, ReductionPrims.max(new byte[] {(byte) 200, 1}));
+    assertEquals(-5L, ReductionPrims.min(new int[] {-5, 1000}));
+    assertEquals(1000L, ReductionPrims.max(new int[] {-5, 1000}));
+    assertEquals(-0.5, ReductionPrims.min(new double[] {-0.5, 2.5}));
+    assertEquals(2.5,  ReductionPrims.max(new double[] {-0.5, 2.5}));
+  }
+
+  @Test
+  public void testMinAndMaxOfEmptyStorageIsNil() {
+    assertSame(Nil.nilObject, ReductionPrims.min(new long[0]));
+    assertSame(Nil.nilObject, ReductionPrims.max(new byte[0]));
+    assertSame(Nil.nilObject, ReductionPrims.min(new int[0]));
+    assertSame(Nil.nilObject, ReductionPrims.max(new double[0]));
+  }
+
+  @Test
+  public void testDotOfEachStorage() {
+    assertEquals(12L, ReductionPrims.dot(new byte[] {2, 2, 2}, new byte[] {2, 2, 2}));
+    assertEquals(12L, ReductionPrims.dotIntegers(new int[] {-2, 4}, new int[] {-2, 2}));
+    assertEquals(261L, ReductionPrims.dotIntegers(new long[] {1, 2}, new byte[] {(byte) 255, 3}));
+    assertEquals(4.5, ReductionPrims.dot(new double[] {1.5}, new double[] {3.0}), 0.0);
+    assertEquals(0L, ReductionPrims.dotIntegers(new int[0], new long[0]));
+  }
+
+  @Test
+  public void testDotOverflowsToBigInteger() {
+    BigInteger expected = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(2));
+    assertEquals(expected, ReductionPrims.dotIntegers(
+        new long[] {Long.MAX_VALUE}, new int[] {2}));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDotOfDifferentLengths() {
+    ReductionPrims.dotIntegers(new long[] {1}, new byte[] {1, 2});
+  }
+
+  @Test
+  public void testBoxedArithmeticOfMixedNumbers() {
+    assertEquals(3.5, ReductionPrims.add(1L, 2.5));
+    assertEquals(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE),
+        ReductionPrims.add(Long.MAX_VALUE, 1L));
+    assertEquals(1L, ReductionPrims.add(
+        BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), Long.MIN_VALUE + 1));
+    assertEquals(5.0, ReductionPrims.multiply(2.0, 2.5));
+    assertEquals(true, ReductionPrims.lessThan(1L, 1.5));
+    assertEquals(false, ReductionPrims.lessThan(
+        BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE), Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testBoxedArithmeticOfOtherObjects() {
+    assertNull(ReductionPrims.add(1L, Nil.nilObject));
+    assertNull(ReductionPrims.multiply("a", 2L));
+    assertNull(ReductionPrims.lessThan(true, 1L));
+  }
+}
@@ -0,0 +1,57 @@
+package som.vm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.Test;
+
+import som.tests.ParallelHelper;
+import som.vmobjects.SSymbol;
+
+
+public class SymbolsTests {
+
+  @Test
+  public void testSymbolIdentity() {
+    SSymbol sym = Symbols.symbolFor("testSymbolIdentity");
+    assertEquals("testSymbolIdentity", sym.getString());
+    assertSame(sym, Symbols.symbolFor(new String("testSymbolIdentity")));
+    assertSame(sym, Symbols.dynamicSymbolFor("testSymbolIdentity"));
+  }
+
+  @Test
+  public void testDynamicSymbolIsKeptAliveBySymbolFor() {
+    SSymbol dyn = Symbols.dynamicSymbolFor("testDynamicSymbol");
+    assertSame(dyn, Symbols.dynamicSymbolFor("testDynamicSymbol"));
+    assertSame(dyn, Symbols.symbolFor("testDynamicSymbol"));
+  }
+
+  @Test
+  public void testConcurrentSymbolCreation() throws InterruptedException {
+    final int numSymbols = 10_000;
+    final AtomicReferenceArray<SSymbol> first = new AtomicReferenceArray<>(numSymbols);
+
+    ParallelHelper.executeNTimesInParallel(() -> {
+      for (int i = 0; i < numSymbols; i++) {
+        SSymbol sym;
+        if (i % 2 == 0) {
+          sym = Symbols.dynamicSymbolFor("concurrent" + i);
+        } else {
+          sym = Symbols.symbolFor("concurrent" + i);
+        }
+
+        if (!first.compareAndSet(i, null, sym)) {
+          assertSame(first.get(i), sym);
+        }
+      }
+    });
+  }
+
+  @Test
+  public void testSymbolHashIsStringHash() {
+    SSymbol sym = Symbols.symbolFor("hashOfThisSymbol");
+    assertEquals("hashOfThisSymbol".hashCode(), sym.getHash());
+  }
+}
@@ -0,0 +1,131 @@
+package som.vmobjects;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.profiles.ValueProfile;
+
+import som.vmobjects.SArray.GrowableArray;
+import som.vmobjects.SArray.SMutableArray;
+
+
+public class SArrayTests {
+
+  @Test
+  public void testAppendKeepsPrimitiveStorage() {
+    SMutableArray arr = new SMutableArray(0, null);
+    GrowableArray storage = arr.transitionToGrowable();
+
+    for (long i = 0; i < 100; i++) {
+      storage.append(i);
+    }
+
+    assertEquals(100, storage.getSize());
+    assertTrue(storage.getStorage() instanceof long[]);
+    assertEquals(42L, storage.get(42));
+  }
+
+  @Test
+  public void testGrowableStorageTypeGuards() {
+    SMutableArray arr = new SMutableArray(new double[] {1.0, 2.0}, null);
+    GrowableArray storage = arr.transitionToGrowable();
+    assertTrue(arr.isGrowableDoubleType());
+    assertFalse(arr.isGrowableLongType());
+
+    ValueProfile profile = ValueProfile.createClassProfile();
+    assertEquals(2.0, storage.getDoubleStorage(profile)[1], 0.0);
+
+    storage.append("three");
+    assertTrue(arr.isGrowableObjectType());
+    assertFalse(arr.isGrowableDoubleType());
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testGrowableIndexIsCheckedAgainstSize() {
+    SMutableArray arr = new SMutableArray(new long[] {1, 2}, null);
+    GrowableArray storage = arr.transitionToGrowable();
+    storage.append(3L);
+    // the capacity is larger than the size
+    storage.checkIndex(3);
+  }
+
+  @Test
+  public void testAppendOfOtherTypeGeneralizes() {
+    SMutableArray arr = new SMutableArray(new long[] {1, 2}, null);
+    GrowableArray storage = arr.transitionToGrowable();
+    storage.append("three");
+
+    assertTrue(storage.getStorage() instanceof Object[]);
+    assertEquals(3, storage.getSize());
+    assertEquals(2L, storage.get(1));
+    assertEquals("three", storage.get(2));
+  }
+
+  @Test
+  public void testRemoveLast() {
+    SMutableArray arr = new SMutableArray(new double[] {1.0, 2.0}, null);
+    GrowableArray storage = arr.transitionToGrowable();
+
+    assertEquals(2.0, storage.removeLast());
+    assertEquals(1, storage.getSize());
+    assertArrayEquals(new double[] {1.0}, (double[]) storage.copyToFixedStorage(), 0.0);
+  }
+
+  @Test
+  public void testSmallIntegersUseCompactStorage() {
+    SMutableArray arr = new SMutableArray(3, null);
+    arr.transitionToLongWithAll(3, 255);
+    assertTrue(arr.isByteType());
+
+    arr.transitionToLongWithAll(3, -1);
+    assertTrue(arr.isIntType());
+
+    arr.transitionToLongWithAll(3, 1L << 40);
+    assertTrue(arr.isLongType());
+  }
+
+  @Test
+  public void testCompactLongStorage() {
+    assertTrue(SArray.compactLongStorage(new long[] {0, 200}) instanceof byte[]);
+    assertTrue(SArray.compactLongStorage(new long[] {0, 256}) instanceof int[]);
+    assertTrue(SArray.compactLongStorage(new long[] {Long.MIN_VALUE}) instanceof long[]);
+  }
+
+  @Test
+  public void testWidenByteStorage() {
+    SMutableArray arr = new SMutableArray(new byte[] {(byte) 200, 1}, null);
+    arr.widenIntegerStorageFor(1000);
+    assertArrayEquals(new int[] {200, 1}, (int[]) arr.storage);
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testReadBeyondSize() {
+    SMutableArray arr = new SMutableArray(0, null);
+    GrowableArray storage = arr.transitionToGrowable();
+    storage.append(1L);
+    storage.get(1);
+  }
+
+  @Test
+  public void testTransitionToObjectStorageBoxes() {
+    SMutableArray arr = new SMutableArray(new byte[] {(byte) 200, 1}, null);
+    Object[] storage = arr.transitionToObjectStorage();
+    assertTrue(arr.isObjectType());
+    assertArrayEquals(new Object[] {200L, 1L}, storage);
+  }
+
+  @Test
+  public void testEmptyRangeIsValid() {
+    SArray.checkRange(1, 0, 0);
+    SArray.checkRange(4, 3, 3);
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testRangeBeyondSize() {
+    SArray.checkRange(2, 4, 3);
+  }
+}
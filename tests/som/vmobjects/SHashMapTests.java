@@ -0,0 +1,97 @@
+package som.vmobjects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+
+public class SHashMapTests {
+
+  @Test
+  public void testLongKeysStayUnboxed() {
+    SHashMap map = new SHashMap(null, false);
+    for (long i = 0; i < 1000; i++) {
+      map.put(i, i * 2);
+    }
+
+    assertTrue(map.isLongKeyType());
+    assertEquals(1000, map.size());
+    assertEquals(84L, map.get(42));
+    assertNull(map.get(1000));
+  }
+
+  @Test
+  public void testOtherKeyTransitionsToObjectKeys() {
+    SHashMap map = new SHashMap(null, false);
+    map.put(1, "one");
+    map.put("two", 2L);
+
+    assertTrue(map.isObjectKeyType());
+    assertEquals("one", map.get(1));
+    assertEquals(2L, map.get("two"));
+  }
+
+  @Test
+  public void testRemoveKeepsOtherKeysReachable() {
+    SHashMap map = new SHashMap(null, false);
+    for (long i = 0; i < 500; i++) {
+      map.put(i, i);
+    }
+    for (long i = 0; i < 500; i += 2) {
+      assertEquals(i, map.remove(i));
+    }
+
+    assertEquals(250, map.size());
+    for (long i = 0; i < 500; i++) {
+      if (i % 2 == 0) {
+        assertNull(map.get(i));
+      } else {
+        assertEquals(i, map.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testStringsAndSymbolsAreEqualKeys() {
+    SHashMap map = new SHashMap(null, false);
+    map.put("key", 1L);
+    assertEquals(1L, map.get(new SSymbol("key")));
+    assertEquals(1L, map.get(new SSubstring("a key", 2, 3)));
+  }
+
+  @Test
+  public void testIdentityMapComparesStringsByIdentity() {
+    SHashMap map = new SHashMap(null, true);
+    String key = "key";
+    map.put(key, 1L);
+    assertEquals(1L, map.get(key));
+    assertNull(map.get(new String("key")));
+  }
+
+  @Test
+  public void testKeysAreASnapshot() {
+    SHashMap map = new SHashMap(null, false);
+    for (long i = 0; i < 6; i++) {
+      map.put(i, i);
+    }
+
+    Object[] keys = map.getKeys();
+    // grows the table, and shifts the following entries back
+    for (long i = 6; i < 100; i++) {
+      map.put(i, i);
+    }
+    map.remove(0L);
+
+    assertEquals(6, keys.length);
+    HashSet<Object> distinct = new HashSet<>(Arrays.asList(keys));
+    for (long i = 0; i < 6; i++) {
+      assertTrue(distinct.contains(i));
+    }
+    assertEquals(99, map.getKeys().length);
+  }
+}
@@ -0,0 +1,56 @@
+package som.vmobjects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+
+public class SRopeTests {
+
+  @Test
+  public void testShortConcatenationIsFlat() {
+    assertEquals("ab", SRope.concat("a", "b"));
+  }
+
+  @Test
+  public void testLongConcatenationIsRope() {
+    String half = new String(new char[SRope.MIN_LENGTH / 2]).replace('\0', 'x');
+    Object result = SRope.concat(half, half);
+    assertTrue(result instanceof SRope);
+    assertEquals(SRope.MIN_LENGTH, ((SRope) result).length());
+    assertEquals(half + half, ((SRope) result).getString());
+  }
+
+  @Test
+  public void testDeepRopeFlattens() {
+    Object str = "";
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      str = SRope.concat(str, "ab");
+      expected.append("ab");
+    }
+    assertEquals(expected.toString(), ((SRope) str).getString());
+  }
+
+  @Test
+  public void testAppendToStream() {
+    Object rope = SRope.concat(new String(new char[SRope.MIN_LENGTH]), "!");
+    SStringStream stream = new SStringStream(null);
+    stream.append("a");
+    stream.append((SRope) rope);
+    stream.append(1);
+    assertEquals(SRope.MIN_LENGTH + 3, stream.size());
+  }
+
+  @Test
+  public void testFlattenedPartIsReused() {
+    String half = new String(new char[SRope.MIN_LENGTH / 2]).replace('\0', 'x');
+    SRope inner = (SRope) SRope.concat(half, half);
+    SRope outer = (SRope) SRope.concat(inner, "y");
+
+    assertEquals(half + half, inner.getString());
+    assertEquals(half + half, inner.getString());
+    assertEquals(half + half + "y", outer.getString());
+  }
+}
@@ -0,0 +1,65 @@
+package som.vmobjects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+
+public class SSubstringTests {
+
+  @Test
+  public void testMaterialize() {
+    SSubstring sub = new SSubstring("a,bc,d", 2, 2);
+    assertEquals(2, sub.length());
+    assertEquals("bc", sub.getString());
+  }
+
+  @Test
+  public void testSubstringOfSubstring() {
+    Object sub = new SSubstring("a,bcd,e", 2, 3).substring(1, 3);
+    assertEquals("cd", sub);
+  }
+
+  @Test
+  public void testShortSubstringIsCopied() {
+    String str = repeat('x', SSubstring.MIN_LENGTH * 2);
+    assertEquals("xx", SSubstring.create(str, 1, 3));
+    assertSame(str, SSubstring.create(str, 0, str.length()));
+  }
+
+  @Test
+  public void testLongSubstringSharesCharacters() {
+    String str = repeat('x', SSubstring.MIN_LENGTH * 2) + "y";
+    Object sub = SSubstring.create(str, SSubstring.MIN_LENGTH, str.length());
+    assertTrue(sub instanceof SSubstring);
+    assertEquals(SSubstring.MIN_LENGTH + 1, ((SSubstring) sub).length());
+    assertEquals(str.substring(SSubstring.MIN_LENGTH), ((SSubstring) sub).getString());
+  }
+
+  @Test
+  public void testMaterializedSubstringCanBeSubstringed() {
+    String str = repeat('x', SSubstring.MIN_LENGTH * 3) + "y";
+    SSubstring sub = (SSubstring) SSubstring.create(str, 1, str.length());
+    sub.getString();
+
+    Object subSub = sub.substring(SSubstring.MIN_LENGTH, sub.length());
+    assertEquals(str.substring(SSubstring.MIN_LENGTH + 1), subSub.toString());
+
+    SStringStream stream = new SStringStream(null);
+    stream.append(sub);
+    assertEquals(str.substring(1), stream.getContents());
+  }
+
+  private static String repeat(final char c, final int n) {
+    return new String(new char[n]).replace('\0', c);
+  }
+
+  @Test
+  public void testAppendToStream() {
+    SStringStream stream = new SStringStream(null);
+    stream.append(new SSubstring("a,bc,d", 2, 2));
+    assertEquals("bc", stream.getContents());
+  }
+}